@@ -0,0 +1,89 @@
+package com.devs.lab.test.benchmark;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.devs.lab.test.service.ApiLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.devs.lab.test.Constants.SUCCESS;
+
+/**
+ * 이벤트를 api_log 행으로 바꾸는 비용. 본문 크기와 JSON 처리 방식(PARSE / PASS_THROUGH)별로 측정한다.
+ * {@code toJsonNode} 는 private 이므로 {@link ApiLogService#toEntity} 를 통해 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiLogServiceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String payloadSize;
+
+    @Param({"PARSE", "PASS_THROUGH"})
+    public String jsonMode;
+
+    private ApiLogService service;
+    private ApiCallSuccessEvent successEvent;
+    private ApiCallErrorEvent errorEvent;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        ApiLogProperties properties = new ApiLogProperties();
+        properties.setJsonMode(ApiLogProperties.JsonMode.valueOf(jsonMode));
+        // 저장은 하지 않으므로 repository / writer 는 필요 없다
+        service = new ApiLogService(null, new ObjectMapper(), properties, entities -> { }, null, null, null);
+        payload = BenchmarkPayloads.json(payloadSize);
+        ApiRequest request = ApiRequest.builder().endpoint("/api/orders/42").payload(payload).build();
+        successEvent = new ApiCallSuccessEvent(this, request,
+                ApiResponse.builder().data(payload).statusCode(200).build());
+        errorEvent = new ApiCallErrorEvent(this, request, new IllegalStateException("connection reset"), 0, false);
+    }
+
+    @Benchmark
+    public ApiLogEntity successEntity() {
+        return service.toEntity(successEvent);
+    }
+
+    @Benchmark
+    public ApiLogEntity errorEntity() {
+        return service.toEntity(errorEvent);
+    }
+
+    /**
+     * JSON 변환 없이 빌더만 쓴 기준선.
+     */
+    @Benchmark
+    public ApiLogEntity builderOnly() {
+        return ApiLogEntity.builder()
+                .eventType(SUCCESS)
+                .requestId(successEvent.getRequest().getRequestId())
+                .endpoint(successEvent.getRequest().getEndpoint())
+                .statusCode(200)
+                .timestamp(LocalDateTime.now())
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.devs.lab.test.benchmark;
+
+/**
+ * 벤치마크용 JSON 본문. 항목 수로 크기를 조절한다.
+ */
+final class BenchmarkPayloads {
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * @param size SMALL (~100B), MEDIUM (~4KB), LARGE (~64KB)
+     */
+    static String json(String size) {
+        int items = switch (size) {
+            case "SMALL" -> 1;
+            case "MEDIUM" -> 40;
+            case "LARGE" -> 640;
+            default -> throw new IllegalArgumentException("Unknown payload size: " + size);
+        };
+        StringBuilder json = new StringBuilder(items * 100 + 16).append("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append(i * 1.5)
+                    .append(",\"tags\":[\"a\",\"b\"],\"active\":true}");
+        }
+        return json.append("]}").toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.devs.lab.test.benchmark;
+
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.model.dto.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호출 한 번이 발행 전에 만드는 객체들 (요청 ID 가 붙은 ApiRequest, INITIATED / SUCCESS 이벤트) 의 비용.
+ * 여러 스레드에서 동시에 요청 ID 를 만들 때의 경합도 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EventCreationBenchmark {
+
+    private final ApiResponse response = ApiResponse.builder().data("{\"result\":\"ok\"}").statusCode(200).build();
+
+    @Benchmark
+    public void createEvents(Blackhole blackhole) {
+        ApiRequest request = ApiRequest.builder().endpoint("/api/orders/42").payload("{}").build();
+        blackhole.consume(new ApiCallInitiatedEvent(this, request));
+        blackhole.consume(new ApiCallSuccessEvent(this, request, response));
+    }
+}
\ No newline at end of file
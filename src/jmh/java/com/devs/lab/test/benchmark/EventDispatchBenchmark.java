@@ -0,0 +1,121 @@
+package com.devs.lab.test.benchmark;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.listener.ApiEventListener;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.devs.lab.test.pipeline.ApiLogRingBuffer;
+import com.devs.lab.test.pipeline.ApiLogWriteBehindQueue;
+import com.devs.lab.test.pipeline.RingBufferEventPublisher;
+import com.devs.lab.test.repository.ApiLogRepository;
+import com.devs.lab.test.service.ApiLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ApplicationEventPublisher.publishEvent} 부터 {@link ApiEventListener} 까지, 호출 스레드가 로그 한 건에
+ * 쓰는 시간.
+ * <ul>
+ *     <li>NO_LISTENER - 리스너 없이 멀티캐스터만 거치는 기준선</li>
+ *     <li>DIRECT - 리스너가 호출 스레드에서 엔티티를 만들어 저장 (저장소는 아무 것도 하지 않음)</li>
+ *     <li>WRITE_BEHIND - 리스너가 write-behind 큐에 넘기고 바로 돌아옴. 발행 속도가 writer 스레드보다 빠르면
+ *     큐가 차서 BLOCK 정책에 걸리므로, 이 경우 점수는 writer 처리량을 따라간다</li>
+ *     <li>RING_BUFFER - {@link RingBufferEventPublisher} 가 멀티캐스터를 거치지 않고 링 버퍼에 넣음.
+ *     WRITE_BEHIND 와 같은 이유로 버퍼가 차면 소비자 처리량을 따라간다</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EventDispatchBenchmark {
+
+    @Param({"NO_LISTENER", "DIRECT", "WRITE_BEHIND", "RING_BUFFER"})
+    public String mode;
+
+    private AnnotationConfigApplicationContext context;
+    private ApiLogWriteBehindQueue queue;
+    private ApiLogRingBuffer ringBuffer;
+    private ApplicationEventPublisher publisher;
+    private ApiCallSuccessEvent event;
+
+    @Setup
+    public void setUp() {
+        ApiLogService service = new ApiLogService(discardingRepository(), new ObjectMapper(),
+                new ApiLogProperties(), entities -> { }, null, null, null);
+        context = new AnnotationConfigApplicationContext();
+        switch (mode) {
+            case "DIRECT" -> context.registerBean(ApiEventListener.class, () -> new ApiEventListener(service, null, null, null));
+            case "WRITE_BEHIND" -> {
+                queue = new ApiLogWriteBehindQueue(service, new ApiLogProperties.WriteBehind(), null);
+                queue.start();
+                context.registerBean(ApiEventListener.class, () -> new ApiEventListener(service, queue, null, null));
+            }
+            case "RING_BUFFER" -> {
+                ringBuffer = new ApiLogRingBuffer(service, new ApiLogProperties.RingBuffer(), null);
+                ringBuffer.start();
+            }
+            default -> {
+            }
+        }
+        context.refresh();
+        publisher = ringBuffer != null ? new RingBufferEventPublisher(ringBuffer, context) : context;
+
+        String payload = BenchmarkPayloads.json("SMALL");
+        event = new ApiCallSuccessEvent(this,
+                ApiRequest.builder().endpoint("/api/orders/42").payload(payload).build(),
+                ApiResponse.builder().data(payload).statusCode(200).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+        if (ringBuffer != null) {
+            ringBuffer.stop();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publishEvent(event);
+    }
+
+    /**
+     * save 는 인자를 그대로 돌려주고 나머지는 null 을 돌려주는 저장소.
+     */
+    private static ApiLogRepository discardingRepository() {
+        return (ApiLogRepository) Proxy.newProxyInstance(ApiLogRepository.class.getClassLoader(),
+                new Class<?>[]{ApiLogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingApiLogRepository";
+                    default -> null;
+                });
+    }
+}
\ No newline at end of file
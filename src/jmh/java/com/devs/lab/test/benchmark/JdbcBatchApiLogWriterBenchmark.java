@@ -0,0 +1,127 @@
+package com.devs.lab.test.benchmark;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.service.JdbcBatchApiLogWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.devs.lab.test.Constants.SUCCESS;
+
+/**
+ * 내장 H2 에 100 행을 저장하는 시간. 점수는 행 하나 기준이다.
+ * rowsPerStatement 가 1 이면 행마다 INSERT 를 보내는 경우, 100 이면 다중 행 INSERT 한 번이다.
+ * 절대값은 PostgreSQL 과 다르므로 릴리스 사이의 회귀 비교에만 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcBatchApiLogWriterBenchmark {
+
+    private static final int ROWS = 100;
+
+    @Param({"1", "20", "100"})
+    public int rowsPerStatement;
+
+    @Param({"SMALL", "MEDIUM"})
+    public String payloadSize;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcBatchApiLogWriter writer;
+    private List<ApiLogEntity> entities;
+
+    @Setup
+    public void setUp() throws IOException {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log (
+                    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    event_type    VARCHAR(50)  NOT NULL,
+                    request_id    VARCHAR(36)  NOT NULL,
+                    endpoint      VARCHAR(255) NOT NULL,
+                    payload       JSON,
+                    response      JSON,
+                    status_code   INT,
+                    error_message JSON,
+                    timestamp     TIMESTAMP    NOT NULL,
+                    retry_count   INT     DEFAULT 0,
+                    is_retry      BOOLEAN DEFAULT FALSE,
+                    retry_history JSON,
+                    started_at TIMESTAMP,
+                    ended_at TIMESTAMP,
+                    first_byte_micros BIGINT,
+                    duration_micros BIGINT,
+                    body_id UUID,
+                    payload_hash VARBINARY,
+                    response_hash VARBINARY
+                )
+                """);
+        ObjectMapper objectMapper = new ObjectMapper();
+        writer = new JdbcBatchApiLogWriter(jdbcTemplate, objectMapper, rowsPerStatement);
+
+        String payload = BenchmarkPayloads.json(payloadSize);
+        entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(ApiLogEntity.builder()
+                    .eventType(SUCCESS)
+                    .requestId("request-" + i)
+                    .endpoint("/api/orders/" + i)
+                    .payload(objectMapper.readTree(payload))
+                    .response(objectMapper.readTree(payload))
+                    .statusCode(200)
+                    .timestamp(LocalDateTime.now())
+                    .retryCount(0)
+                    .isRetry(false)
+                    .build());
+        }
+    }
+
+    /**
+     * 테이블이 계속 커지면 뒤 iteration 일수록 느려지므로 iteration 마다 비운다.
+     */
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE api_log");
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void write() {
+        writer.write(entities);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.devs.lab.test.benchmark;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.devs.lab.test.util.ApiCallBulkhead;
+import com.devs.lab.test.util.ApiCallRetrier;
+import com.devs.lab.test.util.RestApiClientUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 안의 HTTP 스텁에 대한 {@link RestApiClientUtil} 왕복 시간. 이벤트는 버리므로 로그 저장 비용은
+ * 포함하지 않는다. 스텁은 요청 본문을 읽고 크기에 맞는 JSON 을 바로 돌려준다.
+ * 스텁 서버가 헤더와 본문을 나눠 쓰므로 Nagle 지연(~40ms)이 섞이지 않게 TCP_NODELAY 를 켠다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@Threads(8)
+public class RestApiClientUtilBenchmark {
+
+    @Param({"SMALL", "MEDIUM"})
+    public String payloadSize;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService clientExecutor;
+    private RestApiClientUtil client;
+    private String payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = BenchmarkPayloads.json(payloadSize);
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> respond(exchange, body));
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        RestClientProperties properties = new RestClientProperties();
+        client = new RestApiClientUtil(
+                RestClient.builder()
+                        .requestFactory(new SimpleClientHttpRequestFactory())
+                        .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                        .build(),
+                event -> { }, new ObjectMapper(), clientExecutor, ApiCallBulkhead.unbounded(),
+                new ApiCallRetrier(properties.getRetry()), ApiClientMetrics.noop(), properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ApiResponse getSync() {
+        return client.getSync("/echo");
+    }
+
+    @Benchmark
+    public ApiResponse postSync() {
+        return client.postSync("/echo", payload);
+    }
+
+    @Benchmark
+    public ApiResponse postAsync() {
+        return client.postAsync("/echo", payload).join();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            request.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
\ No newline at end of file
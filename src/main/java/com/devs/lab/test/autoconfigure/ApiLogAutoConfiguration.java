@@ -2,21 +2,51 @@ package com.devs.lab.test.autoconfigure;
 
 import com.devs.lab.test.config.RetryConfig;
 import com.devs.lab.test.listener.ApiEventListener;
+import com.devs.lab.test.maintenance.ApiLogJsonIndexer;
+import com.devs.lab.test.maintenance.ApiLogPartitionMaintainer;
+import com.devs.lab.test.metrics.ApiLogMetrics;
+import com.devs.lab.test.pipeline.ApiLogRetryScheduler;
+import com.devs.lab.test.pipeline.ApiLogRingBuffer;
+import com.devs.lab.test.pipeline.ApiLogWriteBehindQueue;
+import com.devs.lab.test.pipeline.RingBufferEventPublisher;
 import com.devs.lab.test.repository.ApiLogRepository;
+import com.devs.lab.test.service.ApiLogBodyStore;
 import com.devs.lab.test.service.ApiLogService;
+import com.devs.lab.test.service.ApiLogWriter;
+import com.devs.lab.test.service.JdbcBatchApiLogWriter;
+import com.devs.lab.test.service.PgCopyApiLogWriter;
+import com.devs.lab.test.spool.ApiLogSpool;
+import com.devs.lab.test.spool.ApiLogSpoolReplayer;
+import com.devs.lab.test.stats.ApiLogStatsAggregator;
+import com.devs.lab.test.stats.ApiLogStatsStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
-@AutoConfiguration
+import java.io.IOException;
+import java.nio.file.Path;
+
+@AutoConfiguration(after = {DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, JacksonAutoConfiguration.class})
 @ConditionalOnClass({ApiEventListener.class, ApiLogService.class})
 @EnableConfigurationProperties(ApiLogProperties.class)
 @ConditionalOnProperty(name = "api.log.enabled", havingValue = "true", matchIfMissing = true)
@@ -28,14 +58,177 @@ public class ApiLogAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(ObjectMapper.class)
-    public ApiLogService apiLogService(ApiLogRepository repository, ObjectMapper objectMapper) {
-        return new ApiLogService(repository, objectMapper);
+    @ConditionalOnProperty(name = "api.log.batch.enabled", havingValue = "true")
+    public ApiLogWriter jdbcBatchApiLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                              ApiLogProperties properties) {
+        return new JdbcBatchApiLogWriter(jdbcTemplate, objectMapper, properties.getBatch().getRowsPerStatement());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiLogMetrics apiLogMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry != null ? new ApiLogMetrics(registry) : ApiLogMetrics.noop();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ObjectMapper.class)
+    public ApiLogService apiLogService(ApiLogRepository repository, ObjectMapper objectMapper,
+                                       ApiLogProperties properties, ObjectProvider<ApiLogWriter> writer,
+                                       ApiLogMetrics metrics, ObjectProvider<ApiLogBodyStore> bodyStore,
+                                       ObjectProvider<ApiLogStatsAggregator> stats) {
+        return new ApiLogService(repository, objectMapper, properties, writer.getIfAvailable(), metrics,
+                bodyStore.getIfAvailable(), stats.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ApiLogService.class)
+    @ConditionalOnProperty(name = "api.log.retry.enabled", havingValue = "true", matchIfMissing = true)
+    public ApiLogRetryScheduler apiLogRetryScheduler(ApiLogService apiLogService, ApiLogProperties properties,
+                                                     ObjectProvider<ApiLogSpool> spool, ApiLogMetrics metrics) {
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties.getRetry(),
+                spool.getIfAvailable());
+        metrics.monitor(scheduler);
+        return scheduler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "api.log.spool.enabled", havingValue = "true")
+    public ApiLogSpool apiLogSpool(ApiLogProperties properties) throws IOException {
+        ApiLogProperties.Spool spool = properties.getSpool();
+        return new ApiLogSpool(Path.of(spool.getDirectory()), (int) spool.getSegmentSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({ApiLogSpool.class, ApiLogService.class})
+    public ApiLogSpoolReplayer apiLogSpoolReplayer(ApiLogSpool spool, ApiLogService apiLogService,
+                                                   ApiLogProperties properties) {
+        return new ApiLogSpoolReplayer(spool, apiLogService, properties.getSpool());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ApiLogService.class)
+    @ConditionalOnProperty(name = "api.log.write-behind.enabled", havingValue = "true")
+    public ApiLogWriteBehindQueue apiLogWriteBehindQueue(ApiLogService apiLogService, ApiLogProperties properties,
+                                                         ObjectProvider<ApiLogRetryScheduler> retryScheduler,
+                                                         ApiLogMetrics metrics) {
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties.getWriteBehind(),
+                retryScheduler.getIfAvailable());
+        metrics.monitor(queue);
+        return queue;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ApiLogService.class)
+    @ConditionalOnProperty(name = "api.log.ring-buffer.enabled", havingValue = "true")
+    public ApiLogRingBuffer apiLogRingBuffer(ApiLogService apiLogService, ApiLogProperties properties,
+                                             ObjectProvider<ApiLogRetryScheduler> retryScheduler,
+                                             ApiLogMetrics metrics) {
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties.getRingBuffer(),
+                retryScheduler.getIfAvailable());
+        metrics.monitor(ringBuffer);
+        return ringBuffer;
+    }
+
+    /**
+     * 링 버퍼를 쓰면 {@code ApplicationEventPublisher} 를 주입받는 클라이언트가 이 publisher 를 받도록 primary 로 등록한다.
+     * API 호출 이벤트는 {@code @EventListener} 에 전달되지 않고 링 버퍼로만 간다.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnBean(ApiLogRingBuffer.class)
+    public RingBufferEventPublisher ringBufferEventPublisher(ApiLogRingBuffer ringBuffer,
+                                                             ApplicationContext applicationContext) {
+        return new RingBufferEventPublisher(ringBuffer, applicationContext);
     }
 
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(ApiLogService.class)
-    public ApiEventListener apiEventListener(ApiLogService apiLogService) {
-        return new ApiEventListener(apiLogService);
+    public ApiEventListener apiEventListener(ApiLogService apiLogService,
+                                             ObjectProvider<ApiLogWriteBehindQueue> writeBehindQueue,
+                                             ObjectProvider<ApiLogRetryScheduler> retryScheduler,
+                                             ApiLogMetrics metrics) {
+        return new ApiEventListener(apiLogService, writeBehindQueue.getIfAvailable(), retryScheduler.getIfAvailable(),
+                metrics);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(JdbcTemplate.class)
+    @ConditionalOnProperty(name = "api.log.partition.enabled", havingValue = "true")
+    public ApiLogPartitionMaintainer apiLogPartitionMaintainer(JdbcTemplate jdbcTemplate, ApiLogProperties properties,
+                                                               ApiLogMetrics metrics) {
+        ApiLogPartitionMaintainer maintainer = new ApiLogPartitionMaintainer(jdbcTemplate, properties.getPartition(),
+                properties.getBodyStorage().getDedup().getTouchInterval());
+        metrics.monitor(maintainer);
+        return maintainer;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(JdbcTemplate.class)
+    @ConditionalOnProperty(name = "api.log.json-index.enabled", havingValue = "true")
+    public ApiLogJsonIndexer apiLogJsonIndexer(JdbcTemplate jdbcTemplate, ApiLogProperties properties) {
+        return new ApiLogJsonIndexer(jdbcTemplate, properties.getJsonIndex());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(JdbcTemplate.class)
+    @ConditionalOnProperty(name = "api.log.stats.enabled", havingValue = "true")
+    public ApiLogStatsStore apiLogStatsStore(JdbcTemplate jdbcTemplate) {
+        return new ApiLogStatsStore(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ApiLogStatsStore.class)
+    public ApiLogStatsAggregator apiLogStatsAggregator(ApiLogStatsStore store, ApiLogProperties properties) {
+        return new ApiLogStatsAggregator(store, properties.getStats());
+    }
+
+    /**
+     * PostgreSQL 드라이버는 optional 의존성이므로 드라이버가 있을 때만 COPY 작성기를 만든다.
+     * 없으면 바깥 설정의 INSERT 작성기가 대신 등록된다.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.postgresql.PGConnection")
+    @ConditionalOnProperty(name = "api.log.batch.method", havingValue = "COPY")
+    static class PgCopyWriterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(ObjectMapper.class)
+        @ConditionalOnProperty(name = "api.log.batch.enabled", havingValue = "true")
+        public ApiLogWriter pgCopyApiLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                               ApiLogProperties properties) {
+            ApiLogWriter insertWriter = new JdbcBatchApiLogWriter(jdbcTemplate, objectMapper,
+                    properties.getBatch().getRowsPerStatement());
+            return new PgCopyApiLogWriter(jdbcTemplate.getDataSource(), objectMapper, insertWriter);
+        }
+    }
+
+    /**
+     * zstd-jni 는 optional 의존성이므로 클래스가 있을 때만 본문 저장소를 만든다.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.github.luben.zstd.Zstd")
+    @ConditionalOnProperty(name = "api.log.body-storage.enabled", havingValue = "true")
+    static class BodyStorageConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(JdbcTemplate.class)
+        public ApiLogBodyStore apiLogBodyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                               ApiLogProperties properties) {
+            return new ApiLogBodyStore(jdbcTemplate, transactionManager, properties.getBodyStorage());
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.devs.lab.test.autoconfigure;
 
+import com.devs.lab.test.pipeline.OverflowPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @ConfigurationProperties(prefix = "api.log")
 public class ApiLogProperties {
@@ -9,6 +15,41 @@ public class ApiLogProperties {
      */
     private boolean enabled = true;
 
+    /**
+     * How calls are stored: one row per lifecycle event, or one row per request written when the call finishes.
+     */
+    private StorageMode storageMode = StorageMode.EVENTS;
+
+    /**
+     * Maximum number of in-flight requests whose retry history is kept in memory in SINGLE_RECORD mode.
+     */
+    private int maxPendingRequests = 10_000;
+
+    /**
+     * How payload and response text is turned into the JSONB column values.
+     */
+    private JsonMode jsonMode = JsonMode.PARSE;
+
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    private final RingBuffer ringBuffer = new RingBuffer();
+
+    private final Batch batch = new Batch();
+
+    private final Capture capture = new Capture();
+
+    private final Partition partition = new Partition();
+
+    private final Retry retry = new Retry();
+
+    private final Spool spool = new Spool();
+
+    private final BodyStorage bodyStorage = new BodyStorage();
+
+    private final JsonIndex jsonIndex = new JsonIndex();
+
+    private final Stats stats = new Stats();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -16,4 +57,1080 @@ public class ApiLogProperties {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public void setStorageMode(StorageMode storageMode) {
+        this.storageMode = storageMode;
+    }
+
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    public void setMaxPendingRequests(int maxPendingRequests) {
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    public JsonMode getJsonMode() {
+        return jsonMode;
+    }
+
+    public void setJsonMode(JsonMode jsonMode) {
+        this.jsonMode = jsonMode;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public RingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Capture getCapture() {
+        return capture;
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public Spool getSpool() {
+        return spool;
+    }
+
+    public BodyStorage getBodyStorage() {
+        return bodyStorage;
+    }
+
+    public JsonIndex getJsonIndex() {
+        return jsonIndex;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public enum StorageMode {
+        /**
+         * INITIATED, SUCCESS, ERROR and RETRY_ERROR rows for every call.
+         */
+        EVENTS,
+        /**
+         * A single SUCCESS or ERROR row per request id holding the request, the response and the retry history.
+         */
+        SINGLE_RECORD
+    }
+
+    public enum JsonMode {
+        /**
+         * Parse bodies into a JSON tree and write the tree back out.
+         */
+        PARSE,
+        /**
+         * Check bodies with a streaming token scan and write valid JSON text as-is, without building a tree.
+         */
+        PASS_THROUGH
+    }
+
+    public static class WriteBehind {
+        /**
+         * Hand events to a bounded in-memory queue drained by dedicated writer threads
+         * instead of writing them on the publishing thread.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of events waiting to be written.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Number of writer threads draining the queue.
+         */
+        private int writerThreads = 2;
+
+        /**
+         * Maximum number of events a writer persists in one transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How long a writer waits for more events to fill a batch before flushing a partial one.
+         */
+        private Duration flushInterval = Duration.ZERO;
+
+        /**
+         * What to do with new events when the queue is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        /**
+         * How long a publisher may wait for free space under the BLOCK policy.
+         */
+        private Duration blockTimeout = Duration.ofMillis(100);
+
+        /**
+         * Queue fill ratio above which the SAMPLE policy starts sampling.
+         */
+        private double sampleThreshold = 0.75;
+
+        /**
+         * Fraction of events accepted by the SAMPLE policy once the threshold is exceeded.
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * How long to keep draining queued events on shutdown.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public double getSampleThreshold() {
+            return sampleThreshold;
+        }
+
+        public void setSampleThreshold(double sampleThreshold) {
+            this.sampleThreshold = sampleThreshold;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    public static class RingBuffer {
+        /**
+         * Publish API call events from the built-in clients straight into a preallocated lock-free ring buffer
+         * drained by dedicated consumer threads, bypassing Spring event listener resolution and multicasting.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of slots in the ring. Rounded up to a power of two.
+         */
+        private int bufferSize = 8192;
+
+        /**
+         * Number of consumer threads writing batches from the ring.
+         */
+        private int consumers = 1;
+
+        /**
+         * Maximum number of events a consumer persists in one transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * What to do with new events when the ring is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        /**
+         * How long a publisher may wait for a free slot under the BLOCK policy.
+         */
+        private Duration blockTimeout = Duration.ofMillis(100);
+
+        /**
+         * Ring fill ratio above which the SAMPLE policy starts sampling.
+         */
+        private double sampleThreshold = 0.75;
+
+        /**
+         * Fraction of events accepted by the SAMPLE policy once the threshold is exceeded.
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * How long to keep draining buffered events on shutdown.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getConsumers() {
+            return consumers;
+        }
+
+        public void setConsumers(int consumers) {
+            this.consumers = consumers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public double getSampleThreshold() {
+            return sampleThreshold;
+        }
+
+        public void setSampleThreshold(double sampleThreshold) {
+            this.sampleThreshold = sampleThreshold;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    public static class Batch {
+        /**
+         * Write batched events with multi-row JDBC INSERT statements instead of one JPA insert per row.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of rows in a single INSERT statement.
+         */
+        private int rowsPerStatement = 500;
+
+        /**
+         * How batches are sent to the database. COPY falls back to INSERT when the driver or
+         * the database does not support it.
+         */
+        private Method method = Method.INSERT;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRowsPerStatement() {
+            return rowsPerStatement;
+        }
+
+        public void setRowsPerStatement(int rowsPerStatement) {
+            this.rowsPerStatement = rowsPerStatement;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public void setMethod(Method method) {
+            this.method = method;
+        }
+
+        public enum Method {
+            /**
+             * Multi-row INSERT statements.
+             */
+            INSERT,
+            /**
+             * PostgreSQL {@code COPY ... FROM STDIN} in CSV format.
+             */
+            COPY
+        }
+    }
+
+    public static class Capture {
+        /**
+         * Body capture rules, evaluated in order; the first rule matching the endpoint and status wins.
+         * Calls matching no rule are captured in full. Row metadata is always written.
+         */
+        private List<Rule> rules = new ArrayList<>();
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        public static class Rule {
+            /**
+             * Ant-style pattern matched against the request path.
+             */
+            private String endpoint = "/**";
+
+            /**
+             * Status classes this rule applies to, e.g. 2xx, 5xx. Empty matches every event,
+             * including INITIATED and errors without a response status.
+             */
+            private List<String> statuses = new ArrayList<>();
+
+            /**
+             * Store the request payload.
+             */
+            private boolean payload = true;
+
+            /**
+             * Store the response body.
+             */
+            private boolean response = true;
+
+            /**
+             * Maximum stored body size in UTF-8 bytes. 0 means unlimited.
+             */
+            private int maxBytes = 0;
+
+            /**
+             * Which part of an oversized body is kept.
+             */
+            private Truncation truncation = Truncation.HEAD;
+
+            /**
+             * Fraction of matching calls whose bodies are stored (0.0 - 1.0).
+             */
+            private double sampleRate = 1.0;
+
+            /**
+             * Maximum number of matching calls per second whose bodies are stored. 0 means unlimited.
+             */
+            private int maxPerSecond = 0;
+
+            public String getEndpoint() {
+                return endpoint;
+            }
+
+            public void setEndpoint(String endpoint) {
+                this.endpoint = endpoint;
+            }
+
+            public List<String> getStatuses() {
+                return statuses;
+            }
+
+            public void setStatuses(List<String> statuses) {
+                this.statuses = statuses;
+            }
+
+            public boolean isPayload() {
+                return payload;
+            }
+
+            public void setPayload(boolean payload) {
+                this.payload = payload;
+            }
+
+            public boolean isResponse() {
+                return response;
+            }
+
+            public void setResponse(boolean response) {
+                this.response = response;
+            }
+
+            public int getMaxBytes() {
+                return maxBytes;
+            }
+
+            public void setMaxBytes(int maxBytes) {
+                this.maxBytes = maxBytes;
+            }
+
+            public Truncation getTruncation() {
+                return truncation;
+            }
+
+            public void setTruncation(Truncation truncation) {
+                this.truncation = truncation;
+            }
+
+            public double getSampleRate() {
+                return sampleRate;
+            }
+
+            public void setSampleRate(double sampleRate) {
+                this.sampleRate = sampleRate;
+            }
+
+            public int getMaxPerSecond() {
+                return maxPerSecond;
+            }
+
+            public void setMaxPerSecond(int maxPerSecond) {
+                this.maxPerSecond = maxPerSecond;
+            }
+        }
+
+        public enum Truncation {
+            /**
+             * Keep the first max-bytes.
+             */
+            HEAD,
+            /**
+             * Keep the first and last half of max-bytes.
+             */
+            HEAD_TAIL
+        }
+    }
+
+    public static class Partition {
+        /**
+         * Create future api_log partitions and expire old ones in the background (PostgreSQL only).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Range covered by one partition.
+         */
+        private Granularity granularity = Granularity.DAILY;
+
+        /**
+         * Number of partitions, starting with the current one, that must exist ahead of time.
+         */
+        private int premake = 3;
+
+        /**
+         * Partitions whose whole range is older than this are expired.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        /**
+         * What happens to expired partitions.
+         */
+        private RetentionAction retentionAction = RetentionAction.DROP;
+
+        /**
+         * How often partitions are checked.
+         */
+        private Duration checkInterval = Duration.ofHours(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Granularity getGranularity() {
+            return granularity;
+        }
+
+        public void setGranularity(Granularity granularity) {
+            this.granularity = granularity;
+        }
+
+        public int getPremake() {
+            return premake;
+        }
+
+        public void setPremake(int premake) {
+            this.premake = premake;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public RetentionAction getRetentionAction() {
+            return retentionAction;
+        }
+
+        public void setRetentionAction(RetentionAction retentionAction) {
+            this.retentionAction = retentionAction;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+
+        public enum Granularity {
+            DAILY,
+            HOURLY
+        }
+
+        public enum RetentionAction {
+            /**
+             * Drop the partition table.
+             */
+            DROP,
+            /**
+             * Detach the partition and keep it as a standalone table, e.g. for archiving.
+             */
+            DETACH
+        }
+    }
+
+    public static class Retry {
+        /**
+         * Retry failed log writes in the background instead of dropping them.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of write attempts per event, including the first one.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Delay before the first retry.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound for the retry delay.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+
+        /**
+         * Factor applied to the delay after each failed attempt.
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Random spread applied to each delay, as a fraction of the delay (0.0 - 1.0).
+         */
+        private double jitter = 0.2;
+
+        /**
+         * Maximum number of events waiting for a retry. Further failures are dropped.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Maximum number of events written together when the backlog drains.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Consecutive failed writes after which the circuit opens and writes stop hitting the database.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long the circuit stays open before a single trial write is let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+    }
+
+    public static class Spool {
+        /**
+         * Write events that cannot reach the database to a local spool file and load them back after recovery.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the spool segments and the replay checkpoint.
+         */
+        private String directory = "./api-log-spool";
+
+        /**
+         * Size of one memory-mapped segment file. A new segment is started when the current one is full.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Maximum number of spooled events loaded into the database in one transaction.
+         */
+        private int replayBatchSize = 500;
+
+        /**
+         * How often the spool is flushed to disk and replayed into the database.
+         */
+        private Duration replayInterval = Duration.ofSeconds(5);
+
+        /**
+         * Consecutive replay failures at the same checkpoint before the next batch is replayed one record at a time.
+         * Records the database still rejects are moved to the quarantine spool so replay can move past them.
+         */
+        private int replayMaxFailures = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public int getReplayBatchSize() {
+            return replayBatchSize;
+        }
+
+        public void setReplayBatchSize(int replayBatchSize) {
+            this.replayBatchSize = replayBatchSize;
+        }
+
+        public Duration getReplayInterval() {
+            return replayInterval;
+        }
+
+        public void setReplayInterval(Duration replayInterval) {
+            this.replayInterval = replayInterval;
+        }
+
+        public int getReplayMaxFailures() {
+            return replayMaxFailures;
+        }
+
+        public void setReplayMaxFailures(int replayMaxFailures) {
+            this.replayMaxFailures = replayMaxFailures;
+        }
+    }
+
+    public static class BodyStorage {
+        /**
+         * Compress large request and response bodies with zstd and store them in the api_log_body table
+         * instead of the JSONB columns of api_log. Requires com.github.luben:zstd-jni on the classpath.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Combined payload and response size from which bodies are moved to api_log_body.
+         */
+        private DataSize threshold = DataSize.ofKilobytes(2);
+
+        /**
+         * zstd compression level.
+         */
+        private int level = 3;
+
+        /**
+         * Train a zstd dictionary from the first bodies seen when none is stored yet, and compress with it.
+         */
+        private boolean dictionary = true;
+
+        /**
+         * Maximum size of a trained dictionary.
+         */
+        private DataSize dictionarySize = DataSize.ofKilobytes(64);
+
+        /**
+         * Amount of body samples collected before training the dictionary.
+         */
+        private DataSize trainingSampleSize = DataSize.ofMegabytes(4);
+
+        private final Dedup dedup = new Dedup();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(DataSize threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public boolean isDictionary() {
+            return dictionary;
+        }
+
+        public void setDictionary(boolean dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        public DataSize getDictionarySize() {
+            return dictionarySize;
+        }
+
+        public void setDictionarySize(DataSize dictionarySize) {
+            this.dictionarySize = dictionarySize;
+        }
+
+        public DataSize getTrainingSampleSize() {
+            return trainingSampleSize;
+        }
+
+        public void setTrainingSampleSize(DataSize trainingSampleSize) {
+            this.trainingSampleSize = trainingSampleSize;
+        }
+
+        public Dedup getDedup() {
+            return dedup;
+        }
+
+        public static class Dedup {
+            /**
+             * Store each body once in api_log_content keyed by its SHA-256 hash and reference it from api_log.
+             * Takes precedence over api_log_body for bodies at or above min-size.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Smallest body that is deduplicated. Smaller bodies stay inline, where a 32 byte hash would not pay off.
+             */
+            private DataSize minSize = DataSize.ofBytes(256);
+
+            /**
+             * Number of recently written hashes remembered in memory to skip the database round trip.
+             */
+            private int cacheSize = 10_000;
+
+            /**
+             * How often a cached hash refreshes last_seen_at of its row. Rows not seen for retention plus this
+             * interval are purged by partition maintenance.
+             */
+            private Duration touchInterval = Duration.ofHours(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public DataSize getMinSize() {
+                return minSize;
+            }
+
+            public void setMinSize(DataSize minSize) {
+                this.minSize = minSize;
+            }
+
+            public int getCacheSize() {
+                return cacheSize;
+            }
+
+            public void setCacheSize(int cacheSize) {
+                this.cacheSize = cacheSize;
+            }
+
+            public Duration getTouchInterval() {
+                return touchInterval;
+            }
+
+            public void setTouchInterval(Duration touchInterval) {
+                this.touchInterval = touchInterval;
+            }
+        }
+    }
+
+    public static class JsonIndex {
+        /**
+         * Build GIN indexes on the configured JSONB paths (PostgreSQL only).
+         */
+        private boolean enabled = false;
+
+        /**
+         * JSONB paths to index with GIN jsonb_path_ops, written as column.key.key (for example payload.customer or
+         * response.status). The column is payload, response or error_message. Indexes are built in the background on
+         * startup, one partition at a time and concurrently.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+
+    public static class Stats {
+        /**
+         * Aggregate stored log rows into per-endpoint, per-minute counters and latency histograms and flush them to
+         * the api_log_stats rollup table.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How often the in-memory buckets are written to api_log_stats.
+         */
+        private Duration flushInterval = Duration.ofMinutes(1);
+
+        /**
+         * Rollup rows older than this are deleted.
+         */
+        private Duration retention = Duration.ofDays(90);
+
+        /**
+         * Significant decimal digits kept by the latency histograms (1 to 5).
+         */
+        private int significantDigits = 2;
+
+        /**
+         * Maximum number of buckets kept in memory while flushes fail. Further buckets are dropped.
+         */
+        private int maxPendingBuckets = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getSignificantDigits() {
+            return significantDigits;
+        }
+
+        public void setSignificantDigits(int significantDigits) {
+            this.significantDigits = significantDigits;
+        }
+
+        public int getMaxPendingBuckets() {
+            return maxPendingBuckets;
+        }
+
+        public void setMaxPendingBuckets(int maxPendingBuckets) {
+            this.maxPendingBuckets = maxPendingBuckets;
+        }
+    }
 }
\ No newline at end of file
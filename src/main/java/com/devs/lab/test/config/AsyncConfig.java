@@ -1,5 +1,9 @@
 package com.devs.lab.test.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +12,12 @@ import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableAsync
 public class AsyncConfig {
@@ -20,13 +30,44 @@ public class AsyncConfig {
 
     @Bean
     @ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
-    public ThreadPoolTaskExecutor threadPoolTaskExecutor() {
+    public ThreadPoolTaskExecutor threadPoolTaskExecutor(ObjectProvider<MeterRegistry> meterRegistry) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("AsyncEvent-");
         executor.initialize();
+        monitor(meterRegistry, executor.getThreadPoolExecutor(), "asyncEvent");
+        return executor;
+    }
+
+    /**
+     * RestApiClientUtil 비동기 호출 전용 실행기. 블로킹 HTTP I/O 가 공용 ForkJoinPool 을 점유하지 않게 한다.
+     */
+    @Bean(name = "apiClientExecutor", destroyMethod = "shutdown")
+    @ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "true")
+    public ExecutorService virtualThreadApiClientExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ApiClient-", 0).factory());
+    }
+
+    @Bean(name = "apiClientExecutor", destroyMethod = "shutdown")
+    @ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+    public ExecutorService threadPoolApiClientExecutor(RestClientProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        RestClientProperties.Async async = properties.getAsync();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(async.getPoolSize(), async.getPoolSize(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                Thread.ofPlatform().name("ApiClient-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        monitor(meterRegistry, executor, "apiClient");
         return executor;
     }
+
+    /**
+     * 스레드 풀 크기, 활성 스레드, 대기열 깊이, 완료 작업 수 게이지(executor.*)를 등록한다.
+     * Virtual Thread 실행기는 풀이 없으므로 등록하지 않는다.
+     */
+    private static void monitor(ObjectProvider<MeterRegistry> meterRegistry, ExecutorService executor, String name) {
+        meterRegistry.ifAvailable(registry -> new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(registry));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.devs.lab.test.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+
+/**
+ * JdkClientHttpRequestFactory 는 넘겨받은 HttpClient 를 닫지 않으므로 빈 소멸 시점에 직접 닫는다.
+ */
+final class ClosingJdkClientHttpRequestFactory extends JdkClientHttpRequestFactory implements DisposableBean {
+
+    private final HttpClient httpClient;
+
+    ClosingJdkClientHttpRequestFactory(HttpClient httpClient) {
+        super(httpClient);
+        this.httpClient = httpClient;
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.close();
+    }
+}
\ No newline at end of file
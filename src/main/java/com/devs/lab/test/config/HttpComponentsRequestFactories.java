@@ -0,0 +1,28 @@
+package com.devs.lab.test.config;
+
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * Apache HttpClient 5 는 선택 의존성이므로 관련 클래스 참조를 이 클래스로 분리한다.
+ */
+final class HttpComponentsRequestFactories {
+
+    private HttpComponentsRequestFactories() {
+    }
+
+    static ClientHttpRequestFactory create(RestClientProperties.Pool pool, ClientHttpRequestFactorySettings settings) {
+        return ClientHttpRequestFactoryBuilder.httpComponents()
+                .withConnectionManagerCustomizer(connectionManager -> connectionManager
+                        .setMaxConnTotal(pool.getMaxConnections())
+                        .setMaxConnPerRoute(pool.getMaxConnectionsPerRoute()))
+                .withDefaultRequestConfigCustomizer(requestConfig -> requestConfig
+                        .setConnectionKeepAlive(TimeValue.of(pool.getKeepAlive())))
+                .withHttpClientCustomizer(httpClient -> httpClient
+                        .evictExpiredConnections()
+                        .evictIdleConnections(TimeValue.of(pool.getIdleEviction())))
+                .build(settings);
+    }
+}
\ No newline at end of file
@@ -1,33 +1,59 @@
 package com.devs.lab.test.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.devs.lab.test.util.ApiCallBulkhead;
+import com.devs.lab.test.util.ApiCallRetrier;
+import com.devs.lab.test.util.ResponseTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties(RestClientProperties.class)
 public class RestClientConfig {
 
-    @Value("${rest.client.connect-timeout:5000}")
-    private int connectTimeout;
+    private final RestClientProperties properties;
 
-    @Value("${rest.client.read-timeout:30000}")
-    private int readTimeout;
-
-    @Value("${rest.client.base-url:}")
-    private String baseUrl;
+    public RestClientConfig(RestClientProperties properties) {
+        this.properties = properties;
+    }
 
+    /**
+     * JDK 팩토리는 HttpClient 를 직접 만들어 빈 소멸 시 닫히게 한다.
+     */
     @Bean
     public ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeout);
-        factory.setReadTimeout(readTimeout);
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+                .withConnectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
+                .withReadTimeout(Duration.ofMillis(properties.getReadTimeout()));
+        RestClientProperties.Pool pool = properties.getPool();
+
+        return switch (properties.getFactory()) {
+            case SIMPLE -> ClientHttpRequestFactoryBuilder.simple().build(settings);
+            case JDK -> jdkRequestFactory(pool);
+            case HTTP_COMPONENTS -> HttpComponentsRequestFactories.create(pool, settings);
+        };
+    }
+
+    private ClientHttpRequestFactory jdkRequestFactory(RestClientProperties.Pool pool) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .version(pool.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+        ClosingJdkClientHttpRequestFactory factory = new ClosingJdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(properties.getReadTimeout()));
         return factory;
     }
 
@@ -36,11 +62,13 @@ public class RestClientConfig {
                                 MappingJackson2HttpMessageConverter messageConverter) {
         RestClient.Builder builder = RestClient.builder()
                 .requestFactory(requestFactory)
+                .requestInterceptor(new ResponseTimingInterceptor())
                 .messageConverters(converters -> {
                     converters.removeIf(converter -> converter instanceof MappingJackson2HttpMessageConverter);
                     converters.add(messageConverter);
                 });
 
+        String baseUrl = properties.getBaseUrl();
         if (baseUrl != null && !baseUrl.isEmpty()) {
             builder.baseUrl(baseUrl);
         }
@@ -56,4 +84,21 @@ public class RestClientConfig {
         restTemplate.getMessageConverters().add(messageConverter);
         return restTemplate;
     }
+
+    @Bean
+    public ApiCallBulkhead apiCallBulkhead() {
+        RestClientProperties.Bulkhead bulkhead = properties.getBulkhead();
+        return new ApiCallBulkhead(bulkhead.getMaxConcurrentCalls(), bulkhead.getEndpoints(), bulkhead.getMaxWait());
+    }
+
+    @Bean
+    public ApiCallRetrier apiCallRetrier() {
+        return new ApiCallRetrier(properties.getRetry());
+    }
+
+    @Bean
+    public ApiClientMetrics apiClientMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry != null ? new ApiClientMetrics(registry) : ApiClientMetrics.noop();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,401 @@
+package com.devs.lab.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "rest.client")
+public class RestClientProperties {
+    /**
+     * Connect timeout in milliseconds.
+     */
+    private int connectTimeout = 5000;
+
+    /**
+     * Read timeout in milliseconds.
+     */
+    private int readTimeout = 30000;
+
+    /**
+     * Base URL prepended to relative endpoints.
+     */
+    private String baseUrl = "";
+
+    /**
+     * HTTP client used by RestClient and RestTemplate.
+     */
+    private Factory factory = Factory.SIMPLE;
+
+    private final Pool pool = new Pool();
+
+    private final Async async = new Async();
+
+    private final Bulkhead bulkhead = new Bulkhead();
+
+    private final Streaming streaming = new Streaming();
+
+    private final Retry retry = new Retry();
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Factory getFactory() {
+        return factory;
+    }
+
+    public void setFactory(Factory factory) {
+        this.factory = factory;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public enum Factory {
+        /**
+         * {@code HttpURLConnection}, no pool control.
+         */
+        SIMPLE,
+        /**
+         * JDK {@code java.net.http.HttpClient}. Supports HTTP/2; the connection pool is tuned through
+         * the {@code jdk.httpclient.*} system properties.
+         */
+        JDK,
+        /**
+         * Apache HttpClient 5 with a pooling connection manager. Requires httpclient5 on the classpath.
+         */
+        HTTP_COMPONENTS
+    }
+
+    public static class Pool {
+        /**
+         * Maximum number of pooled connections in total (HTTP_COMPONENTS).
+         */
+        private int maxConnections = 200;
+
+        /**
+         * Maximum number of pooled connections per route (HTTP_COMPONENTS).
+         */
+        private int maxConnectionsPerRoute = 50;
+
+        /**
+         * How long an idle connection is kept alive when the server does not send a Keep-Alive header
+         * (HTTP_COMPONENTS).
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Connections idle for longer than this are evicted by a background thread (HTTP_COMPONENTS).
+         */
+        private Duration idleEviction = Duration.ofSeconds(60);
+
+        /**
+         * Prefer HTTP/2, falling back to HTTP/1.1 when the server does not support it (JDK).
+         */
+        private boolean http2 = true;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Duration getIdleEviction() {
+            return idleEviction;
+        }
+
+        public void setIdleEviction(Duration idleEviction) {
+            this.idleEviction = idleEviction;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    public static class Async {
+        /**
+         * Number of platform threads running async calls when virtual threads are disabled.
+         */
+        private int poolSize = 50;
+
+        /**
+         * Number of async calls waiting for a platform thread before new calls are rejected.
+         */
+        private int queueCapacity = 1000;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Bulkhead {
+        /**
+         * Maximum concurrent calls per host for endpoints without a specific limit. 0 means unlimited.
+         */
+        private int maxConcurrentCalls = 0;
+
+        /**
+         * Maximum concurrent calls per endpoint pattern (Ant-style, matched against the request path).
+         */
+        private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+        /**
+         * How long a call waits for a free slot before it is rejected. Synchronous calls wait on the
+         * caller's thread; asynchronous calls wait on a virtual thread and never block the caller.
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Map<String, Integer> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Integer> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    public static class Streaming {
+        /**
+         * Deserialize typed responses straight from the response stream instead of buffering them as a String.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of leading response bytes kept for the API log. Longer bodies are truncated.
+         */
+        private int maxCaptureBytes = 64 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxCaptureBytes() {
+            return maxCaptureBytes;
+        }
+
+        public void setMaxCaptureBytes(int maxCaptureBytes) {
+            this.maxCaptureBytes = maxCaptureBytes;
+        }
+    }
+
+    public static class Policy {
+        /**
+         * Maximum number of attempts per call, including the first one. 1 disables retries.
+         */
+        private int maxAttempts = 1;
+
+        /**
+         * Delay before the first retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        /**
+         * Upper bound for the retry delay.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        /**
+         * Factor applied to the delay after each failed attempt.
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Random spread applied to each delay, as a fraction of the delay (0.0 - 1.0).
+         */
+        private double jitter = 0.5;
+
+        /**
+         * Response status codes that are retried. I/O errors are always retried.
+         */
+        private List<Integer> statuses = new ArrayList<>(List.of(429, 502, 503, 504));
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public List<Integer> getStatuses() {
+            return statuses;
+        }
+
+        public void setStatuses(List<Integer> statuses) {
+            this.statuses = statuses;
+        }
+    }
+
+    /**
+     * Default retry policy for outbound calls, with per-endpoint overrides and a retry budget.
+     */
+    public static class Retry extends Policy {
+        /**
+         * Retries allowed per second, as a fraction of the calls started in that second.
+         */
+        private double budgetRatio = 0.1;
+
+        /**
+         * Retries always allowed per second regardless of the ratio, so that low traffic can still retry.
+         */
+        private int minRetriesPerSecond = 10;
+
+        /**
+         * Retry policy per endpoint pattern (Ant-style, matched against the request path).
+         * Each pattern has its own budget.
+         */
+        private Map<String, Policy> endpoints = new LinkedHashMap<>();
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+
+        public Map<String, Policy> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Policy> endpoints) {
+            this.endpoints = endpoints;
+        }
+    }
+}
\ No newline at end of file
@@ -1,8 +1,7 @@
 package com.devs.lab.test.config;
 
 import com.devs.lab.test.event.ApiCallErrorEvent;
-import com.devs.lab.test.event.ApiCallInitiatedEvent;
-import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.event.ApiCallEvent;
 import com.devs.lab.test.model.dto.ApiRequest;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -50,14 +49,7 @@ public class RetryConfig {
             }
 
             private ApiRequest extractRequest(Object event) {
-                if (event instanceof ApiCallInitiatedEvent) {
-                    return ((ApiCallInitiatedEvent) event).getRequest();
-                } else if (event instanceof ApiCallSuccessEvent) {
-                    return ((ApiCallSuccessEvent) event).getRequest();
-                } else if (event instanceof ApiCallErrorEvent) {
-                    return ((ApiCallErrorEvent) event).getRequest();
-                }
-                return null;
+                return event instanceof ApiCallEvent apiCallEvent ? apiCallEvent.getRequest() : null;
             }
         };
     }
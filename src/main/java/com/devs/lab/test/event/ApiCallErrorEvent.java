@@ -1,25 +1,31 @@
 package com.devs.lab.test.event;
 
+import com.devs.lab.test.model.dto.ApiCallTiming;
 import com.devs.lab.test.model.dto.ApiRequest;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
-
-import java.time.LocalDateTime;
+import org.springframework.lang.Nullable;
 
 @Getter
-public class ApiCallErrorEvent extends ApplicationEvent {
+public final class ApiCallErrorEvent extends ApplicationEvent implements ApiCallEvent {
     private final ApiRequest request;
     private final Throwable error;
-    private final LocalDateTime eventTimestamp;
     private final int retryCount;
     private final boolean isRetry;
+    @Nullable
+    private final ApiCallTiming timing;
 
     public ApiCallErrorEvent(Object source, ApiRequest request, Throwable error, int retryCount, boolean isRetry) {
+        this(source, request, error, retryCount, isRetry, null);
+    }
+
+    public ApiCallErrorEvent(Object source, ApiRequest request, Throwable error, int retryCount, boolean isRetry,
+                             @Nullable ApiCallTiming timing) {
         super(source);
         this.request = request;
         this.error = error;
-        this.eventTimestamp = LocalDateTime.now();
         this.retryCount = retryCount;
         this.isRetry = isRetry;
+        this.timing = timing;
     }
 }
\ No newline at end of file
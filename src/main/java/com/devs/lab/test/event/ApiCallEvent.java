@@ -0,0 +1,30 @@
+package com.devs.lab.test.event;
+
+import com.devs.lab.test.model.dto.ApiRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * API 호출 이벤트 공통 타입.
+ * <p>
+ * 이벤트 시각은 ApplicationEvent 가 생성 시 기록하는 epoch millis 하나만 쓴다. 호출 스레드에서 LocalDateTime 을
+ * 만들지 않고, 필요한 곳(로그 행 변환)에서만 변환한다.
+ */
+public sealed interface ApiCallEvent permits ApiCallInitiatedEvent, ApiCallSuccessEvent, ApiCallErrorEvent {
+
+    ApiRequest getRequest();
+
+    /**
+     * 이벤트 생성 시각 (epoch millis). {@link org.springframework.context.ApplicationEvent#getTimestamp()}
+     */
+    long getTimestamp();
+
+    /**
+     * 이벤트 생성 시각을 시스템 기본 시간대로 변환한다. 호출할 때마다 새로 만든다.
+     */
+    default LocalDateTime getEventTimestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault());
+    }
+}
\ No newline at end of file
@@ -1,23 +1,28 @@
 package com.devs.lab.test.event;
 
+import com.devs.lab.test.model.dto.ApiCallTiming;
 import com.devs.lab.test.model.dto.ApiRequest;
 import com.devs.lab.test.model.dto.ApiResponse;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
-
-import java.time.LocalDateTime;
+import org.springframework.lang.Nullable;
 
 @Getter
-public class ApiCallSuccessEvent extends ApplicationEvent {
+public final class ApiCallSuccessEvent extends ApplicationEvent implements ApiCallEvent {
     private final ApiRequest request;
     private final ApiResponse response;
-    private final LocalDateTime eventTimestamp;
+    @Nullable
+    private final ApiCallTiming timing;
 
     public ApiCallSuccessEvent(Object source, ApiRequest request, ApiResponse response) {
+        this(source, request, response, null);
+    }
+
+    public ApiCallSuccessEvent(Object source, ApiRequest request, ApiResponse response, @Nullable ApiCallTiming timing) {
         super(source);
         this.request = request;
         this.response = response;
-        this.eventTimestamp = LocalDateTime.now();
+        this.timing = timing;
     }
 
 }
\ No newline at end of file
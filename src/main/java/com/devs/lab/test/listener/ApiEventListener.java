@@ -3,65 +3,137 @@ package com.devs.lab.test.listener;
 import com.devs.lab.test.event.ApiCallErrorEvent;
 import com.devs.lab.test.event.ApiCallInitiatedEvent;
 import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.metrics.ApiLogMetrics;
+import com.devs.lab.test.pipeline.ApiLogRetryScheduler;
+import com.devs.lab.test.pipeline.ApiLogWriteBehindQueue;
 import com.devs.lab.test.service.ApiLogService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+
+import static com.devs.lab.test.Constants.ERROR;
+import static com.devs.lab.test.Constants.INITIATED;
+import static com.devs.lab.test.Constants.RETRY_ERROR;
+import static com.devs.lab.test.Constants.SUCCESS;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ApiEventListener {
+    private static final String STORED = "stored";
+    private static final String HANDED_OFF = "handed-off";
+    private static final String FAILED = "failed";
+
     private final ApiLogService apiLogService;
+    @Nullable
+    private final ApiLogWriteBehindQueue writeBehindQueue;
+    @Nullable
+    private final ApiLogRetryScheduler retryScheduler;
+    private final ApiLogMetrics metrics;
+
+    public ApiEventListener(ApiLogService apiLogService, @Nullable ApiLogWriteBehindQueue writeBehindQueue,
+                            @Nullable ApiLogRetryScheduler retryScheduler, @Nullable ApiLogMetrics metrics) {
+        this.apiLogService = apiLogService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.retryScheduler = retryScheduler;
+        this.metrics = metrics != null ? metrics : ApiLogMetrics.noop();
+    }
 
     @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void handleApiCallInitiated(ApiCallInitiatedEvent event) {
+        long start = System.nanoTime();
+        if (handOff(event)) {
+            record(INITIATED, HANDED_OFF, start);
+            return;
+        }
         try {
             apiLogService.saveApiCallInitiated(event);
             log.debug("Saved API Call Initiated: RequestId={}, Endpoint={}",
                     event.getRequest().getRequestId(), event.getRequest().getEndpoint());
+            record(INITIATED, STORED, start);
         } catch (Exception e) {
             log.error("Failed to save API Call Initiated: RequestId={}, Error={}",
                     event.getRequest().getRequestId(), e.getMessage(), e);
+            scheduleRetry(event);
+            record(INITIATED, FAILED, start);
         }
     }
 
     @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void handleApiCallSuccess(ApiCallSuccessEvent event) {
+        long start = System.nanoTime();
+        if (handOff(event)) {
+            record(SUCCESS, HANDED_OFF, start);
+            return;
+        }
         try {
             apiLogService.saveApiCallSuccess(event);
             log.debug("Saved API Call Success: RequestId={}, Endpoint={}, Status={}",
                     event.getRequest().getRequestId(), event.getRequest().getEndpoint(),
                     event.getResponse().getStatusCode());
+            record(SUCCESS, STORED, start);
         } catch (Exception e) {
             log.error("Failed to save API Call Success: RequestId={}, Error={}",
                     event.getRequest().getRequestId(), e.getMessage(), e);
+            scheduleRetry(event);
+            record(SUCCESS, FAILED, start);
         }
     }
 
     @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void handleApiCallError(ApiCallErrorEvent event) {
+        long start = System.nanoTime();
+        String eventType = event.isRetry() ? RETRY_ERROR : ERROR;
+        if (handOff(event)) {
+            record(eventType, HANDED_OFF, start);
+            return;
+        }
         try {
             apiLogService.saveApiCallError(event);
             log.info("Saved API Call {}: RequestId={}, Endpoint={}, RetryCount={}",
                     event.isRetry() ? "Retry Error" : "Error",
                     event.getRequest().getRequestId(), event.getRequest().getEndpoint(),
                     event.getRetryCount());
+            record(eventType, STORED, start);
         } catch (Exception e) {
             log.error("Failed to save API Call {}: RequestId={}, Error={}",
                     event.isRetry() ? "Retry Error" : "Error",
                     event.getRequest().getRequestId(), e.getMessage(), e);
+            scheduleRetry(event);
+            record(eventType, FAILED, start);
+        }
+    }
+
+    /**
+     * 동기 저장이 필요 없는 이벤트를 처리한다. SINGLE_RECORD 모드에서 메모리에 흡수되었거나
+     * write-behind 큐로 넘겨졌거나, circuit 이 열려 재시도 대기열로 미뤄졌으면 true.
+     */
+    private boolean handOff(Object event) {
+        if (apiLogService.absorb(event)) {
+            return true;
+        }
+        if (writeBehindQueue != null) {
+            if (!writeBehindQueue.enqueue(event)) {
+                log.debug("Dropped API log event by overflow policy: {}", event.getClass().getSimpleName());
+            }
+            return true;
+        }
+        if (retryScheduler != null && retryScheduler.isCircuitOpen()) {
+            if (!retryScheduler.defer(event)) {
+                log.warn("Dropped API log event, retry queue is full: {}", event.getClass().getSimpleName());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void record(String eventType, String outcome, long start) {
+        metrics.recordListener(eventType, outcome, System.nanoTime() - start);
+    }
+
+    private void scheduleRetry(Object event) {
+        if (retryScheduler != null && !retryScheduler.schedule(event)) {
+            log.warn("Dropped API log event, retry queue is full: {}", event.getClass().getSimpleName());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.devs.lab.test.maintenance;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 설정한 JSONB 경로에 GIN (jsonb_path_ops) 표현식 인덱스를 만든다. 예를 들어 payload.customer 는
+ * {@code payload #> '{customer}'} 에 인덱스를 만들고, {@code payload #> '{customer}' @> '{"id": 42}'} 조회가 이를 쓴다.
+ * <p>
+ * 파티션 부모에 바로 만들면 빌드하는 동안 모든 파티션의 쓰기가 막히므로, 부모에는 {@code ON ONLY} 로 빈 인덱스를
+ * 만들고 파티션마다 {@code CONCURRENTLY} 로 만든 뒤 붙인다. 모든 파티션이 붙으면 부모 인덱스가 유효해지고,
+ * 이후 만들어지는 파티션에는 PostgreSQL 이 알아서 만든다. 시작할 때 별도 스레드에서 한 번 실행한다.
+ */
+@Slf4j
+public class ApiLogJsonIndexer implements SmartLifecycle {
+
+    private static final Set<String> COLUMNS = Set.of("payload", "response", "error_message");
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_]+");
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'api_log'::regclass""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApiLogProperties.JsonIndex properties;
+    private volatile boolean running;
+
+    public ApiLogJsonIndexer(JdbcTemplate jdbcTemplate, ApiLogProperties.JsonIndex properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * 설정한 모든 경로의 인덱스를 만든다. 개별 DDL 이 실패해도 나머지는 계속 진행한다.
+     */
+    public void createIndexes() {
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        for (String ddl : plan(properties.getPaths(), partitions)) {
+            try {
+                jdbcTemplate.execute(ddl);
+                log.info("api_log JSONB index: {}", ddl);
+            } catch (Exception e) {
+                log.warn("api_log JSONB index failed: {} ({})", ddl, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 경로마다 부모 인덱스, 파티션별 인덱스와 ATTACH 순서의 DDL. 형식이 잘못된 경로는 건너뛴다.
+     * 모두 IF NOT EXISTS 이고 이미 붙은 인덱스의 ATTACH 는 아무 일도 하지 않으므로 다시 실행해도 된다.
+     */
+    List<String> plan(List<String> paths, List<String> partitions) {
+        List<String> ddl = new ArrayList<>();
+        for (String path : paths) {
+            String[] keys = path.split("\\.");
+            if (keys.length < 2 || !COLUMNS.contains(keys[0]) || !validKeys(keys)) {
+                log.warn("Ignoring api_log JSONB index path '{}': expected column.key[.key...] with column one of {}",
+                        path, COLUMNS);
+                continue;
+            }
+            String expression = "((" + keys[0] + " #> '{" + String.join(",", List.of(keys).subList(1, keys.length))
+                    + "}') jsonb_path_ops)";
+            String suffix = "_" + String.join("_", keys).toLowerCase() + "_gin";
+            String parentIndex = "idx_api_log" + suffix;
+            ddl.add("CREATE INDEX IF NOT EXISTS " + parentIndex + " ON ONLY api_log USING gin " + expression);
+            for (String partition : partitions) {
+                String partitionIndex = "idx_" + partition + suffix;
+                ddl.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex + " ON " + partition
+                        + " USING gin " + expression);
+                ddl.add("ALTER INDEX " + parentIndex + " ATTACH PARTITION " + partitionIndex);
+            }
+        }
+        return ddl;
+    }
+
+    private static boolean validKeys(String[] keys) {
+        for (String key : keys) {
+            if (!KEY.matcher(key).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (properties.getPaths().isEmpty()) {
+            return;
+        }
+        if (!isPostgreSql()) {
+            log.warn("api_log JSONB indexes require PostgreSQL; skipping");
+            return;
+        }
+        Thread thread = new Thread(this::createIndexesSafely, "ApiLogJsonIndexer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void createIndexesSafely() {
+        try {
+            createIndexes();
+        } catch (Exception e) {
+            log.error("api_log JSONB index creation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (Exception e) {
+            log.warn("Could not detect database product for api_log JSONB indexes: {}", e.getMessage());
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,307 @@
+package com.devs.lab.test.maintenance;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * timestamp 기준 range 파티션으로 나뉜 api_log 와 api_log_body 의 파티션을 미리 만들고, 보존 기간이 지난 파티션을
+ * 삭제(DROP)하거나 분리(DETACH)한다. 오래된 행을 DELETE 하지 않으므로 보존 정책이 메타데이터 작업으로 끝난다.
+ * 파티션을 넘나들며 공유되는 api_log_content 만 남은 파티션이 더 이상 참조하지 않을 행을 DELETE 한다.
+ * <p>
+ * 파티션이 없던 범위의 행은 DEFAULT 파티션에 들어간다. 그 범위의 파티션을 만들 때는 DEFAULT 를 잠시 떼어 낸 뒤
+ * 새 파티션으로 행을 옮기고 다시 붙인다. 그렇지 않으면 CREATE 가 계속 실패하고 그 행들은 보존 정책에서 빠진다.
+ */
+@Slf4j
+public class ApiLogPartitionMaintainer implements SmartLifecycle {
+
+    private static final List<String> PARENT_TABLES = List.of("api_log", "api_log_body");
+    private static final String TABLE_EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = ?::regclass""";
+    private static final String DEFAULT_HAS_ROWS_SQL = "SELECT EXISTS (SELECT 1 FROM %s WHERE timestamp >= ? AND timestamp < ?)";
+    private static final String PURGE_CONTENT_SQL = "DELETE FROM api_log_content WHERE last_seen_at < ?";
+    private static final Pattern BOUNDS = Pattern.compile("FROM \\((.+)\\) TO \\((.+)\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApiLogProperties.Partition properties;
+    private final Duration contentTouchInterval;
+    private final AtomicLong failedCount = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * @param contentTouchInterval 본문 저장소가 캐시에 남은 해시의 last_seen_at 을 갱신하는 간격. 그 사이에 쓰인 행도
+     *                             지우지 않도록 api_log_content 는 보존 기간에 이만큼 더 남겨 둔다.
+     */
+    public ApiLogPartitionMaintainer(JdbcTemplate jdbcTemplate, ApiLogProperties.Partition properties,
+                                     Duration contentTouchInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.contentTouchInterval = contentTouchInterval;
+    }
+
+    /**
+     * 파티션을 한 번 점검한다. 아직 마이그레이션되지 않은 테이블은 건너뛰고, 개별 DDL 이 실패해도 나머지는 계속 진행한다.
+     */
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String parent : PARENT_TABLES) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Boolean.class, parent))) {
+                maintain(parent, now);
+            }
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Boolean.class, "api_log_content"))) {
+            purgeContents(now);
+        }
+    }
+
+    /**
+     * 실패한 파티션 DDL 수 (누적). 0 이 아니면 파티션 생성이나 만료가 밀리고 있다는 뜻이다.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void purgeContents(LocalDateTime now) {
+        LocalDateTime cutoff = contentCutoff(now);
+        try {
+            List<PartitionRange> partitions = jdbcTemplate.query(PARTITIONS_SQL,
+                    (rs, rowNum) -> PartitionRange.parse(rs.getString(1), rs.getString(2)), "api_log");
+            int purged = jdbcTemplate.update(purgeContentSql(partitions), Timestamp.valueOf(cutoff));
+            if (purged > 0) {
+                log.info("api_log_content maintenance: purged {} bodies not seen since {}", purged, cutoff);
+            }
+        } catch (Exception e) {
+            log.warn("api_log_content maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이보다 오래 참조되지 않은 api_log_content 행을 지운다. 파티션은 범위 전체가 보존 기간을 넘겨야 지워지므로 파티션 한
+     * 칸만큼, 캐시에 남은 해시는 touch 간격 동안 last_seen_at 이 갱신되지 않으므로 그만큼 더 남긴다.
+     */
+    LocalDateTime contentCutoff(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(properties.getRetention()).minus(contentTouchInterval);
+        return switch (properties.getGranularity()) {
+            case DAILY -> cutoff.minusDays(1);
+            case HOURLY -> cutoff.minusHours(1);
+        };
+    }
+
+    /**
+     * DEFAULT 파티션은 보존 기간이 지나도 지워지지 않으므로, 그 안의 행이 아직 참조하는 해시는 남긴다.
+     */
+    String purgeContentSql(List<PartitionRange> partitions) {
+        StringBuilder sql = new StringBuilder(PURGE_CONTENT_SQL);
+        for (PartitionRange partition : partitions) {
+            if (partition.isDefault()) {
+                sql.append(" AND NOT EXISTS (SELECT 1 FROM ").append(partition.name())
+                        .append(" l WHERE l.payload_hash = api_log_content.hash OR l.response_hash = api_log_content.hash)");
+            }
+        }
+        return sql.toString();
+    }
+
+    private void maintain(String parent, LocalDateTime now) {
+        List<PartitionRange> existing = jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> PartitionRange.parse(rs.getString(1), rs.getString(2)), parent);
+        PartitionRange defaultPartition = existing.stream().filter(PartitionRange::isDefault).findFirst().orElse(null);
+        BiPredicate<LocalDateTime, LocalDateTime> defaultHasRows = (from, to) -> defaultPartition != null
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(DEFAULT_HAS_ROWS_SQL.formatted(defaultPartition.name()),
+                Boolean.class, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        for (String ddl : plan(parent, existing, now, defaultHasRows)) {
+            try {
+                jdbcTemplate.execute(ddl);
+                log.info("{} partition maintenance: {}", parent, ddl);
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+                log.error("{} partition maintenance failed: {} ({})", parent, ddl, e.getMessage());
+            }
+        }
+    }
+
+    List<String> plan(List<PartitionRange> existing, LocalDateTime now) {
+        return plan("api_log", existing, now);
+    }
+
+    List<String> plan(String parent, List<PartitionRange> existing, LocalDateTime now) {
+        return plan(parent, existing, now, (from, to) -> false);
+    }
+
+    /**
+     * 현재 파티션부터 premake 개의 파티션을 만들고, 범위 전체가 보존 기간보다 오래된 파티션을 만료시키는 DDL.
+     * 이미 있는 파티션과 범위가 겹치는 구간은 건너뛴다. DEFAULT 파티션에 그 범위의 행이 있으면 한 트랜잭션(DO 블록)에서
+     * DEFAULT 를 떼어 내고, 파티션을 만들어 행을 옮긴 뒤 다시 붙인다.
+     *
+     * @param defaultHasRows DEFAULT 파티션에 [from, to) 범위의 행이 있는지
+     */
+    List<String> plan(String parent, List<PartitionRange> existing, LocalDateTime now,
+                      BiPredicate<LocalDateTime, LocalDateTime> defaultHasRows) {
+        List<String> ddl = new ArrayList<>();
+        ApiLogProperties.Partition.Granularity granularity = properties.getGranularity();
+        PartitionRange defaultPartition = existing.stream().filter(PartitionRange::isDefault).findFirst().orElse(null);
+
+        LocalDateTime from = truncate(now, granularity);
+        for (int i = 0; i < properties.getPremake(); i++) {
+            LocalDateTime to = next(from, granularity);
+            if (!overlaps(existing, from, to)) {
+                String partition = name(parent, from, granularity);
+                String bounds = " FOR VALUES FROM ('" + BOUND_FORMAT.format(from) + "') TO ('" + BOUND_FORMAT.format(to) + "')";
+                if (defaultPartition != null && defaultHasRows.test(from, to)) {
+                    String range = " WHERE timestamp >= '" + BOUND_FORMAT.format(from)
+                            + "' AND timestamp < '" + BOUND_FORMAT.format(to) + "'";
+                    ddl.add("DO $$ BEGIN"
+                            + " ALTER TABLE " + parent + " DETACH PARTITION " + defaultPartition.name() + ";"
+                            + " CREATE TABLE " + partition + " PARTITION OF " + parent + bounds + ";"
+                            + " INSERT INTO " + partition + " SELECT * FROM " + defaultPartition.name() + range + ";"
+                            + " DELETE FROM " + defaultPartition.name() + range + ";"
+                            + " ALTER TABLE " + parent + " ATTACH PARTITION " + defaultPartition.name() + " DEFAULT;"
+                            + " END $$");
+                } else {
+                    ddl.add("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + parent + bounds);
+                }
+            }
+            from = to;
+        }
+
+        LocalDateTime cutoff = now.minus(properties.getRetention());
+        for (PartitionRange partition : existing) {
+            if (partition.to() != null && !partition.to().isAfter(cutoff)) {
+                ddl.add(properties.getRetentionAction() == ApiLogProperties.Partition.RetentionAction.DETACH
+                        ? "ALTER TABLE " + parent + " DETACH PARTITION " + partition.name()
+                        : "DROP TABLE IF EXISTS " + partition.name());
+            }
+        }
+        return ddl;
+    }
+
+    private static boolean overlaps(List<PartitionRange> existing, LocalDateTime from, LocalDateTime to) {
+        for (PartitionRange partition : existing) {
+            if (partition.to() == null) {
+                continue;
+            }
+            boolean startsBeforeEnd = partition.from() == null || partition.from().isBefore(to);
+            if (startsBeforeEnd && from.isBefore(partition.to())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time, ApiLogProperties.Partition.Granularity granularity) {
+        return switch (granularity) {
+            case DAILY -> time.truncatedTo(ChronoUnit.DAYS);
+            case HOURLY -> time.truncatedTo(ChronoUnit.HOURS);
+        };
+    }
+
+    private static LocalDateTime next(LocalDateTime from, ApiLogProperties.Partition.Granularity granularity) {
+        return switch (granularity) {
+            case DAILY -> from.plusDays(1);
+            case HOURLY -> from.plusHours(1);
+        };
+    }
+
+    private static String name(String parent, LocalDateTime from, ApiLogProperties.Partition.Granularity granularity) {
+        return parent + "_p" + DateTimeFormatter.ofPattern(
+                granularity == ApiLogProperties.Partition.Granularity.HOURLY ? "yyyyMMddHH" : "yyyyMMdd").format(from);
+    }
+
+    @Override
+    public void start() {
+        if (!isPostgreSql()) {
+            log.warn("api_log partition maintenance requires PostgreSQL; skipping");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ApiLogPartitionMaintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, 0, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("api_log partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (Exception e) {
+            log.warn("Could not detect database product for api_log partition maintenance: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param from 하한. MINVALUE 이면 null.
+     * @param to   상한. DEFAULT 파티션이면 null.
+     */
+    record PartitionRange(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean isDefault() {
+            return to == null;
+        }
+
+        static PartitionRange parse(String name, String bound) {
+            Matcher matcher = BOUNDS.matcher(bound);
+            if (!matcher.find()) {
+                return new PartitionRange(name, null, null);
+            }
+            return new PartitionRange(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+        }
+
+        private static LocalDateTime parseBound(String bound) {
+            if (!bound.startsWith("'")) {
+                return null;
+            }
+            return LocalDateTime.parse(bound.substring(1, bound.length() - 1).replace(' ', 'T'));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.devs.lab.test.metrics;
+
+import com.devs.lab.test.util.EndpointPaths;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 호출 메트릭.
+ * <ul>
+ *     <li>{@code api.client.requests} - 시도 한 번의 소요 시간 (method, uri, outcome). 백분위 히스토그램 포함</li>
+ *     <li>{@code api.client.retries} - 예약된 재시도 수 (method, uri)</li>
+ * </ul>
+ * uri 는 {@link EndpointPaths#template} 로 식별자 세그먼트를 {id} 로 바꾼 경로다.
+ * 미터는 태그 조합마다 한 번만 만들어 두고 다시 쓴다.
+ */
+public class ApiClientMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<CallKey, Timer> calls = new ConcurrentHashMap<>();
+    private final Map<RetryKey, Counter> retries = new ConcurrentHashMap<>();
+
+    public ApiClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 아무 것도 기록하지 않는 인스턴스. MeterRegistry 가 없을 때 사용한다.
+     */
+    public static ApiClientMetrics noop() {
+        return new ApiClientMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * @param error 실패한 경우의 예외. 성공이면 null
+     */
+    public void recordCall(String method, String endpoint, Throwable error, long nanos) {
+        CallKey key = new CallKey(method, EndpointPaths.template(endpoint), outcome(error));
+        calls.computeIfAbsent(key, k -> Timer.builder("api.client.requests")
+                        .description("Outbound API call attempts")
+                        .tag("method", k.method())
+                        .tag("uri", k.uri())
+                        .tag("outcome", k.outcome())
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRetry(String method, String endpoint) {
+        RetryKey key = new RetryKey(method, EndpointPaths.template(endpoint));
+        retries.computeIfAbsent(key, k -> Counter.builder("api.client.retries")
+                        .description("Outbound API call retries scheduled")
+                        .tag("method", k.method())
+                        .tag("uri", k.uri())
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * 호출 측이 RuntimeException 이나 CompletionException 으로 감싸 넘기므로 원인을 따라가며 분류한다.
+     */
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "SUCCESS";
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response) {
+                return response.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return "REJECTED";
+            }
+        }
+        return "UNKNOWN";
+    }
+
+    private record CallKey(String method, String uri, String outcome) {
+    }
+
+    private record RetryKey(String method, String uri) {
+    }
+}
\ No newline at end of file
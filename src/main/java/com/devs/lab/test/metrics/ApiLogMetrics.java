@@ -0,0 +1,132 @@
+package com.devs.lab.test.metrics;
+
+import com.devs.lab.test.maintenance.ApiLogPartitionMaintainer;
+import com.devs.lab.test.pipeline.ApiLogRetryScheduler;
+import com.devs.lab.test.pipeline.ApiLogRingBuffer;
+import com.devs.lab.test.pipeline.ApiLogWriteBehindQueue;
+import com.devs.lab.test.service.ApiLogWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 저장 파이프라인 메트릭.
+ * <ul>
+ *     <li>{@code api.log.listener} - 이벤트 리스너가 호출 스레드에서 쓴 시간 (event, outcome).
+ *     {@code api.client.requests} 와 비교하면 호출 지연 중 로그 저장이 차지하는 몫을 알 수 있다</li>
+ *     <li>{@code api.log.write} - 배치 저장 시간 (outcome), {@code api.log.batch.size} - 배치 크기</li>
+ *     <li>{@code api.log.queue.size}, {@code api.log.dropped} - write-behind / 링 버퍼 / 재시도 대기열 깊이와 버린 이벤트 수 (queue)</li>
+ *     <li>{@code api.log.retries}, {@code api.log.spooled}, {@code api.log.absorbed}, {@code api.log.circuit.open} -
+ *     재시도 스케줄러 상태</li>
+ *     <li>{@code api.log.partition.failures} - 실패한 파티션 DDL 수</li>
+ * </ul>
+ */
+public class ApiLogMetrics {
+
+    private final MeterRegistry registry;
+
+    public ApiLogMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 아무 것도 기록하지 않는 인스턴스. MeterRegistry 가 없을 때 사용한다.
+     */
+    public static ApiLogMetrics noop() {
+        return new ApiLogMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * @param outcome stored (직접 저장), handed-off (메모리 흡수, 큐 또는 재시도 대기열로 넘김), failed
+     */
+    public void recordListener(String eventType, String outcome, long nanos) {
+        Timer.builder("api.log.listener")
+                .description("Time the API log listener spends on the publishing thread")
+                .tag("event", eventType)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 배치 저장 시간과 배치 크기를 기록하는 writer 로 감싼다.
+     */
+    public ApiLogWriter timed(ApiLogWriter writer) {
+        DistributionSummary batchSize = DistributionSummary.builder("api.log.batch.size")
+                .description("Rows written per batch")
+                .register(registry);
+        return entities -> {
+            batchSize.record(entities.size());
+            long start = System.nanoTime();
+            String outcome = "failure";
+            try {
+                writer.write(entities);
+                outcome = "success";
+            } finally {
+                Timer.builder("api.log.write")
+                        .description("Batch write latency")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    public void monitor(ApiLogWriteBehindQueue queue) {
+        Gauge.builder("api.log.queue.size", queue, ApiLogWriteBehindQueue::size)
+                .description("Events waiting in the queue")
+                .tag("queue", "write-behind")
+                .register(registry);
+        FunctionCounter.builder("api.log.dropped", queue, ApiLogWriteBehindQueue::getDroppedCount)
+                .description("Events dropped from the queue")
+                .tag("queue", "write-behind")
+                .register(registry);
+    }
+
+    public void monitor(ApiLogRingBuffer ringBuffer) {
+        Gauge.builder("api.log.queue.size", ringBuffer, ApiLogRingBuffer::size)
+                .description("Events waiting in the queue")
+                .tag("queue", "ring-buffer")
+                .register(registry);
+        FunctionCounter.builder("api.log.dropped", ringBuffer, ApiLogRingBuffer::getDroppedCount)
+                .description("Events dropped from the queue")
+                .tag("queue", "ring-buffer")
+                .register(registry);
+    }
+
+    public void monitor(ApiLogRetryScheduler scheduler) {
+        Gauge.builder("api.log.queue.size", scheduler, ApiLogRetryScheduler::size)
+                .description("Events waiting in the queue")
+                .tag("queue", "retry")
+                .register(registry);
+        FunctionCounter.builder("api.log.dropped", scheduler, ApiLogRetryScheduler::getDroppedCount)
+                .description("Events dropped from the queue")
+                .tag("queue", "retry")
+                .register(registry);
+        FunctionCounter.builder("api.log.retries", scheduler, ApiLogRetryScheduler::getRetriedCount)
+                .description("Log write retries attempted")
+                .register(registry);
+        FunctionCounter.builder("api.log.spooled", scheduler, ApiLogRetryScheduler::getSpooledCount)
+                .description("Events written to the local spool")
+                .register(registry);
+        FunctionCounter.builder("api.log.absorbed", scheduler, ApiLogRetryScheduler::getAbsorbedCount)
+                .description("Events absorbed in memory instead of being spooled")
+                .register(registry);
+        Gauge.builder("api.log.circuit.open", scheduler, s -> s.isCircuitOpen() ? 1 : 0)
+                .description("1 while the log write circuit breaker is open")
+                .register(registry);
+    }
+
+    public void monitor(ApiLogPartitionMaintainer maintainer) {
+        FunctionCounter.builder("api.log.partition.failures", maintainer, ApiLogPartitionMaintainer::getFailedCount)
+                .description("Partition maintenance statements that failed")
+                .register(registry);
+    }
+}
\ No newline at end of file
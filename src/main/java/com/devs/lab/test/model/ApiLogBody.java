@@ -0,0 +1,7 @@
+package com.devs.lab.test.model;
+
+/**
+ * api_log_body 에 압축 저장된 요청/응답 본문. 캡처하지 않은 쪽은 null.
+ */
+public record ApiLogBody(String payload, String response) {
+}
\ No newline at end of file
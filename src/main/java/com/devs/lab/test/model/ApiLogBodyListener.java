@@ -0,0 +1,24 @@
+package com.devs.lab.test.model;
+
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 조회한 로그 행에 본문 loader 를 걸어 둔다. 본문은 {@link ApiLogEntity#getColdBody()} 를 부를 때까지 읽지 않는다.
+ * Hibernate 가 Spring 빈 컨테이너로 만들므로 생성자 주입을 받는다.
+ */
+public class ApiLogBodyListener {
+
+    private final ObjectProvider<ApiLogBodyLoader> loader;
+
+    public ApiLogBodyListener(ObjectProvider<ApiLogBodyLoader> loader) {
+        this.loader = loader;
+    }
+
+    @PostLoad
+    void attach(ApiLogEntity entity) {
+        if (entity.isStoredElsewhere()) {
+            loader.ifAvailable(entity::setColdBodyLoader);
+        }
+    }
+}
\ No newline at end of file
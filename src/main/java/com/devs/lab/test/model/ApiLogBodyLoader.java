@@ -0,0 +1,10 @@
+package com.devs.lab.test.model;
+
+/**
+ * {@link ApiLogEntity#getColdBody()} 가 처음 불릴 때 압축 저장된 본문을 읽어 푼다.
+ */
+@FunctionalInterface
+public interface ApiLogBodyLoader {
+
+    ApiLogBody load(ApiLogEntity entity);
+}
\ No newline at end of file
@@ -3,12 +3,15 @@ package com.devs.lab.test.model;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,9 +19,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "api_log")
+@EntityListeners(ApiLogBodyListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -57,4 +62,61 @@ public class ApiLogEntity {
 
     @Column(name = "is_retry")
     private Boolean isRetry;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "retry_history")
+    private JsonNode retryHistory;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    @Column(name = "first_byte_micros")
+    private Long firstByteMicros;
+
+    @Column(name = "duration_micros")
+    private Long durationMicros;
+
+    /**
+     * 본문을 api_log_body 에 압축 저장한 행이면 그 키. 이때 payload 와 response 컬럼은 비어 있다.
+     */
+    @Column(name = "body_id")
+    private UUID bodyId;
+
+    /**
+     * 요청 본문을 api_log_content 에 저장한 행이면 본문의 SHA-256. 이때 payload 컬럼은 비어 있다.
+     */
+    @Column(name = "payload_hash")
+    private byte[] payloadHash;
+
+    /**
+     * 응답 본문을 api_log_content 에 저장한 행이면 본문의 SHA-256. 이때 response 컬럼은 비어 있다.
+     */
+    @Column(name = "response_hash")
+    private byte[] responseHash;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private ApiLogBody coldBody;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private ApiLogBodyLoader coldBodyLoader;
+
+    /**
+     * api_log_body 나 api_log_content 에 압축 저장된 본문. 그런 행이 아니면 null 이고, api_log_content 에 둔 쪽만
+     * 채워진다. 조회한 행은 처음 부를 때 한 번만 읽어 푼다.
+     */
+    public ApiLogBody getColdBody() {
+        if (coldBody == null && isStoredElsewhere() && coldBodyLoader != null) {
+            coldBody = coldBodyLoader.load(this);
+        }
+        return coldBody;
+    }
+
+    boolean isStoredElsewhere() {
+        return bodyId != null || payloadHash != null || responseHash != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.devs.lab.test.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 호출 한 번의 시간 측정값. 모든 값은 호출 시작(첫 시도 직전) 기준이다.
+ */
+@Getter
+@Builder
+public class ApiCallTiming {
+    /**
+     * 호출 시작 시각 (epoch millis).
+     */
+    private final long startedAt;
+    /**
+     * 시작부터 응답 헤더를 받을 때까지 (us). 응답을 받지 못했거나 측정하지 않았으면 null.
+     */
+    private final Long firstByteMicros;
+    /**
+     * 시작부터 이 이벤트가 가리키는 시도가 끝날 때까지 (us). 재시도 대기 시간을 포함한다.
+     */
+    private final long durationMicros;
+}
\ No newline at end of file
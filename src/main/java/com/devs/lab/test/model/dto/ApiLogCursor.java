@@ -0,0 +1,27 @@
+package com.devs.lab.test.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * keyset 페이지 위치. 다음 페이지는 (timestamp, id) 가 이 값보다 큰 행부터 읽는다.
+ * OFFSET 과 달리 앞 페이지를 다시 읽지 않으므로 페이지가 깊어져도 비용이 같다.
+ */
+public record ApiLogCursor(LocalDateTime timestamp, long id) {
+
+    /**
+     * 첫 페이지. 로그 시각은 epoch 이후이므로 모든 행이 이 뒤에 온다.
+     */
+    public static final ApiLogCursor FIRST = new ApiLogCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    /**
+     * 페이지의 마지막 행 다음. 빈 페이지면 null.
+     */
+    public static ApiLogCursor after(List<ApiLogSummary> page) {
+        if (page.isEmpty()) {
+            return null;
+        }
+        ApiLogSummary last = page.get(page.size() - 1);
+        return new ApiLogCursor(last.timestamp(), last.id());
+    }
+}
\ No newline at end of file
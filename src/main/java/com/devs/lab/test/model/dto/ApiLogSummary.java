@@ -0,0 +1,19 @@
+package com.devs.lab.test.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 본문 컬럼(payload, response, error_message, retry_history)을 빼고 읽는 api_log 행.
+ * 많은 행을 훑을 때 JSONB 를 힙에 올리지 않는다. 본문이 필요하면 id 로 엔티티를 다시 읽는다.
+ */
+public record ApiLogSummary(
+        Long id,
+        String eventType,
+        String requestId,
+        String endpoint,
+        Integer statusCode,
+        LocalDateTime timestamp,
+        Integer retryCount,
+        Boolean isRetry,
+        Long durationMicros) {
+}
\ No newline at end of file
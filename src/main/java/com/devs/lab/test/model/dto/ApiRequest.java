@@ -1,15 +1,14 @@
 package com.devs.lab.test.model.dto;
 
+import com.devs.lab.test.util.RequestIds;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Getter
 @Builder
 public class ApiRequest {
     @Builder.Default
-    private final String requestId = UUID.randomUUID().toString();
+    private final String requestId = RequestIds.next();
     private final String payload;
     private final String endpoint;
 }
\ No newline at end of file
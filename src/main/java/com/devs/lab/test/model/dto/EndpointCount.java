@@ -0,0 +1,7 @@
+package com.devs.lab.test.model.dto;
+
+/**
+ * 엔드포인트별 행 수.
+ */
+public record EndpointCount(String endpoint, long count) {
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.devs.lab.test.model.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * api_log_stats 에서 [from, to) 구간을 합친 엔드포인트 통계. 지연 시간은 마이크로초이고, 측정값이 없으면 null.
+ *
+ * @param endpoint 식별자 세그먼트를 {id} 로 바꾼 경로
+ * @param calls    최종 결과가 나온 호출 수 (SUCCESS, ERROR)
+ * @param errors   최종적으로 실패한 호출 수
+ * @param retries  재시도 횟수
+ */
+public record EndpointStats(String endpoint, LocalDateTime from, LocalDateTime to, long calls, long errors,
+                            long retries, @Nullable Long p50Micros, @Nullable Long p95Micros,
+                            @Nullable Long p99Micros, @Nullable Long maxMicros) {
+
+    public double errorRate() {
+        return calls == 0 ? 0 : (double) errors / calls;
+    }
+}
\ No newline at end of file
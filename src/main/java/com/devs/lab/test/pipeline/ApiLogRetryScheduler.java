@@ -0,0 +1,341 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.service.ApiLogService;
+import com.devs.lab.test.spool.ApiLogSpool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저장에 실패한 API 로그 이벤트를 호출 스레드가 아닌 전용 스레드에서 다시 저장한다.
+ * 지수 backoff 와 jitter 로 재시도 시점을 정하고, 연속 실패 시 circuit breaker 가 열려 DB 호출을 멈춘다.
+ * DB 가 회복되면 밀린 이벤트를 batch-size 단위로 저장한다.
+ * spool 이 있으면 대기열이 가득 찼거나 재시도를 포기한 이벤트, 종료 시 남은 이벤트를 버리지 않고 spool 에 남긴다.
+ */
+@Slf4j
+public class ApiLogRetryScheduler implements SmartLifecycle {
+
+    private static final long TICK_MILLIS = 100;
+
+    private final ApiLogService apiLogService;
+    private final ApiLogProperties.Retry properties;
+    private final ApiLogSpool spool;
+    private final CircuitBreaker circuitBreaker;
+    private final PriorityQueue<PendingWrite> pending = new PriorityQueue<>(Comparator.comparingLong(PendingWrite::dueAt));
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spooledCount = new AtomicLong();
+    private final AtomicLong absorbedCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    // stop 이후 들어온 이벤트는 대기열에 넣지 않고 바로 spool 로 보낸다. pending 락 안에서만 바꾼다
+    private boolean stopped;
+
+    /**
+     * @param spool 메모리에 더 둘 수 없는 이벤트를 남길 spool. null 이면 그런 이벤트는 버린다.
+     */
+    public ApiLogRetryScheduler(ApiLogService apiLogService, ApiLogProperties.Retry properties,
+                                @Nullable ApiLogSpool spool) {
+        this.apiLogService = apiLogService;
+        this.properties = properties;
+        this.spool = spool;
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+    }
+
+    /**
+     * 첫 저장에 실패한 이벤트를 재시도 대기열에 넣는다. 실패는 circuit breaker 에도 반영된다.
+     * 대기열이 가득 찼거나 스케줄러가 멈췄으면 spool 에 남기고, 그마저 못 하면 버리고 false.
+     */
+    public boolean schedule(Object event) {
+        circuitBreaker.onFailure();
+        return enqueue(event, 1);
+    }
+
+    /**
+     * 저장에 실패한 배치를 재시도 대기열에 넣는다. 배치 하나의 실패는 circuit breaker 에 실패 한 번으로 반영한다.
+     *
+     * @return 대기열이나 spool 에 넣은 이벤트 수
+     */
+    public int scheduleAll(Collection<?> events) {
+        circuitBreaker.onFailure();
+        int accepted = 0;
+        for (Object event : events) {
+            if (enqueue(event, 1)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * circuit 이 열려 DB 에 쓰지 않은 이벤트를 재시도 대기열에 넣는다.
+     */
+    public boolean defer(Object event) {
+        return enqueue(event, 0);
+    }
+
+    /**
+     * circuit breaker 가 열려 있으면 true. 이때 호출 측은 DB 에 쓰지 말고 {@link #defer} 해야 한다.
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    public int size() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSpooledCount() {
+        return spooledCount.get();
+    }
+
+    /**
+     * spool 에 넘기려다 SINGLE_RECORD 모드에서 행 없이 메모리에만 반영된 이벤트 수 (누적).
+     */
+    public long getAbsorbedCount() {
+        return absorbedCount.get();
+    }
+
+    /**
+     * 재시도 스레드가 다시 저장을 시도한 이벤트 수 (누적).
+     */
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    /**
+     * 재시도 시점이 된 이벤트를 circuit 이 허용하는 동안 batch 단위로 저장한다.
+     * circuit breaker 에는 꺼낸 batch 하나당 결과 한 번만 반영한다. 한 행이라도 저장했으면 성공,
+     * 아무것도 저장하지 못했을 때만 실패다. 나눈 하위 batch 의 실패는 세지 않는다.
+     */
+    void drain() {
+        while (circuitBreaker.allowRequest()) {
+            List<PendingWrite> batch = takeDue(System.nanoTime());
+            if (batch.isEmpty()) {
+                return;
+            }
+            retriedCount.addAndGet(batch.size());
+            BatchWrite result = new BatchWrite(maxConsecutiveFailures(batch.size()));
+            write(batch, result);
+            if (result.written > 0) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            if (result.failed) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 배치를 저장한다. 실패하면 반으로 나눠 다시 시도해, DB 가 거부하는 행 하나 때문에 같은 배치의 다른 이벤트까지
+     * 다시 예약되지 않게 한다. 성공 없이 실패가 이어지면 DB 장애로 보고 남은 이벤트는 시도하지 않고 다시 예약한다.
+     */
+    private void write(List<PendingWrite> batch, BatchWrite result) {
+        if (result.exhausted()) {
+            batch.forEach(this::reschedule);
+            return;
+        }
+        try {
+            apiLogService.saveAll(batch.stream().map(PendingWrite::event).toList());
+            result.written += batch.size();
+            result.consecutiveFailures = 0;
+        } catch (Exception e) {
+            result.failed = true;
+            result.consecutiveFailures++;
+            if (batch.size() == 1 || result.exhausted()) {
+                log.warn("Retry of {} API log events failed: {}", batch.size(), e.getMessage());
+                batch.forEach(this::reschedule);
+                return;
+            }
+            log.warn("Retry of {} API log events failed, splitting the batch: {}", batch.size(), e.getMessage());
+            int middle = batch.size() / 2;
+            write(batch.subList(0, middle), result);
+            write(batch.subList(middle, batch.size()), result);
+        }
+    }
+
+    /**
+     * 나쁜 행 하나가 만드는 연속 실패는 batch 부터 그 행까지 최대 ceil(log2(n)) + 1 번이다. 그보다 하나 더 실패하면
+     * 행 하나가 아닌 DB 장애로 보고 나누기를 멈춘다. 장애 중 drain 한 번의 DB 호출은 log2(n) 수준으로 제한된다.
+     */
+    private static int maxConsecutiveFailures(int batchSize) {
+        int depth = batchSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(batchSize - 1);
+        return depth + 2;
+    }
+
+    private List<PendingWrite> takeDue(long now) {
+        List<PendingWrite> batch = new ArrayList<>();
+        synchronized (pending) {
+            while (batch.size() < properties.getBatchSize() && !pending.isEmpty() && pending.peek().dueAt() <= now) {
+                batch.add(pending.poll());
+            }
+        }
+        return batch;
+    }
+
+    private void reschedule(PendingWrite write) {
+        int attempts = write.attempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            if (!spill(write.event())) {
+                log.error("Giving up API log event after {} attempts: {}", attempts, write.event().getClass().getSimpleName());
+            }
+            return;
+        }
+        enqueue(write.event(), attempts);
+    }
+
+    private boolean enqueue(Object event, int attempts) {
+        PendingWrite due = new PendingWrite(event, attempts, System.nanoTime() + backoffNanos(attempts));
+        synchronized (pending) {
+            if (!stopped && pending.size() < properties.getQueueCapacity()) {
+                pending.add(due);
+                return true;
+            }
+        }
+        return spill(event);
+    }
+
+    /**
+     * 더 이상 메모리에서 재시도하지 않을 이벤트를 spool 에 남긴다. spool 이 없거나 쓰지 못하면 버리고 false.
+     */
+    private boolean spill(Object event) {
+        if (spool != null) {
+            try {
+                if (apiLogService.absorb(event)) {
+                    absorbedCount.incrementAndGet();
+                    return true;
+                }
+                if (spool.append(apiLogService.toEntity(event))) {
+                    spooledCount.incrementAndGet();
+                    return true;
+                }
+            } catch (Exception e) {
+                log.error("Failed to spool API log event: {}", e.getMessage());
+            }
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * initial-backoff * multiplier^(attempts-1), max-backoff 로 제한한 뒤 ±jitter 만큼 흔든다.
+     * 한 번도 시도하지 않은 이벤트는 circuit 이 닫히는 대로 바로 저장한다.
+     */
+    private long backoffNanos(int attempts) {
+        if (attempts == 0) {
+            return 0;
+        }
+        double delay = properties.getInitialBackoff().toNanos() * Math.pow(properties.getMultiplier(), attempts - 1);
+        delay = Math.min(delay, properties.getMaxBackoff().toNanos());
+        double jitter = properties.getJitter();
+        if (jitter > 0) {
+            delay *= 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        }
+        return (long) delay;
+    }
+
+    @Override
+    public void start() {
+        synchronized (pending) {
+            stopped = false;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ApiLogRetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drainSafely, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        List<PendingWrite> remaining;
+        synchronized (pending) {
+            stopped = true;
+            remaining = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (spool == null) {
+            droppedCount.addAndGet(remaining.size());
+            log.warn("API log retry scheduler stopped with {} events still pending", remaining.size());
+            return;
+        }
+        long spooled = remaining.stream().filter(write -> spill(write.event())).count();
+        log.info("API log retry scheduler stopped; spooled {} of {} pending events", spooled, remaining.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * write-behind 큐와 링 버퍼(DEFAULT_PHASE)가 멈추며 넘긴 이벤트까지 받은 뒤에 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("API log retry drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param attempts 지금까지 시도한 저장 횟수
+     * @param dueAt    다음 시도 시각 (System.nanoTime 기준)
+     */
+    private record PendingWrite(Object event, int attempts, long dueAt) {
+    }
+
+    /**
+     * drain 에서 꺼낸 batch 하나를 나눠 저장하는 동안의 진행 상황.
+     */
+    private static final class BatchWrite {
+        private final int maxConsecutiveFailures;
+        private int written;
+        private int consecutiveFailures;
+        private boolean failed;
+
+        private BatchWrite(int maxConsecutiveFailures) {
+            this.maxConsecutiveFailures = maxConsecutiveFailures;
+        }
+
+        private boolean exhausted() {
+            return consecutiveFailures >= maxConsecutiveFailures;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.service.ApiLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 미리 할당한 슬롯 배열 위에서 동작하는 lock-free 링 버퍼. 여러 생산자와 여러 소비자를 지원한다.
+ * <p>
+ * 슬롯마다 시퀀스를 두어 생산자는 시퀀스가 자기 위치와 같은 슬롯에만 쓰고, 소비자는 위치 + 1 인 슬롯만 읽는다.
+ * 위치는 CAS 로 가져가며 락이나 노드 할당이 없다. 소비자는 읽을 수 있는 연속 구간을 한 번에 batch-size 만큼
+ * 가져가 하나의 트랜잭션으로 저장한다.
+ */
+@Slf4j
+public class ApiLogRingBuffer implements SmartLifecycle {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ApiLogService apiLogService;
+    private final ApiLogProperties.RingBuffer properties;
+    @Nullable
+    private final ApiLogRetryScheduler retryScheduler;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    // 다음에 쓸 위치와 다음에 읽을 위치
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param retryScheduler 저장에 실패한 배치를 넘길 재시도 스케줄러. null 이면 실패한 배치는 버린다.
+     */
+    public ApiLogRingBuffer(ApiLogService apiLogService, ApiLogProperties.RingBuffer properties,
+                            @Nullable ApiLogRetryScheduler retryScheduler) {
+        this.apiLogService = apiLogService;
+        this.properties = properties;
+        this.retryScheduler = retryScheduler;
+        int capacity = capacity(properties.getBufferSize());
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 이벤트를 버퍼에 넣는다. overflow policy 에 의해 버려지면 false.
+     */
+    public boolean publish(Object event) {
+        boolean accepted = switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offerBlocking(event);
+            case DROP_NEWEST -> offer(event);
+            case DROP_OLDEST -> offerDroppingOldest(event);
+            case SAMPLE -> offerSampled(event);
+        };
+        if (!accepted) {
+            droppedCount.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private boolean offer(Object event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // 한 바퀴 전 이벤트를 아직 소비하지 않았다
+                return false;
+            }
+        }
+    }
+
+    private boolean offerBlocking(Object event) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        for (int idle = 0; !offer(event); idle++) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idle(idle);
+        }
+        return true;
+    }
+
+    private boolean offerDroppingOldest(Object event) {
+        List<Object> evicted = new ArrayList<>(1);
+        while (!offer(event)) {
+            droppedCount.addAndGet(claim(evicted, 1));
+            evicted.clear();
+        }
+        return true;
+    }
+
+    private boolean offerSampled(Object event) {
+        if (size() >= slots.length * properties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return false;
+        }
+        return offer(event);
+    }
+
+    /**
+     * head 부터 발행이 끝난 연속 구간을 최대 max 개까지 가져가 batch 에 담고 슬롯을 비운다.
+     */
+    private int claim(List<Object> batch, int max) {
+        while (true) {
+            long position = head.get();
+            int available = 0;
+            while (available < max
+                    && sequences.getAcquire((int) (position + available) & mask) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(position, position + available)) {
+                for (int i = 0; i < available; i++) {
+                    int index = (int) (position + i) & mask;
+                    batch.add(slots[index]);
+                    slots[index] = null;
+                    sequences.setRelease(index, position + i + slots.length);
+                }
+                return available;
+            }
+        }
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.getConsumers(); i++) {
+            Thread consumer = new Thread(this::consumeLoop, "ApiLogRingBuffer-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread consumer : consumers) {
+            try {
+                TimeUnit.NANOSECONDS.timedJoin(consumer, Math.max(0, deadline - System.nanoTime()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        consumers.clear();
+        if (size() > 0) {
+            log.warn("API log ring buffer stopped with {} unwritten events", size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 종료 직전 소비한 batch 의 defer / scheduleAll 을 재시도 스케줄러가 받을 수 있도록 그보다 먼저 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void consumeLoop() {
+        List<Object> batch = new ArrayList<>(properties.getBatchSize());
+        int idle = 0;
+        while (running || size() > 0) {
+            if (claim(batch, properties.getBatchSize()) == 0) {
+                idle(idle++);
+                continue;
+            }
+            idle = 0;
+            try {
+                flush(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        if (retryScheduler != null && retryScheduler.isCircuitOpen()) {
+            batch.forEach(retryScheduler::defer);
+            return;
+        }
+        try {
+            apiLogService.saveAll(batch);
+        } catch (Exception e) {
+            log.error("Failed to write {} API log events: {}", batch.size(), e.getMessage(), e);
+            if (retryScheduler != null) {
+                retryScheduler.scheduleAll(batch);
+            }
+        }
+    }
+
+    /**
+     * 처음에는 바쁘게 돌고, 그 다음 양보하고, 그래도 할 일이 없으면 잠깐 잠든다.
+     */
+    private static void idle(int count) {
+        if (count < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (count < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * 위치를 슬롯 번호로 마스킹할 수 있도록 2의 거듭제곱으로 올린다.
+     */
+    private static int capacity(int bufferSize) {
+        if (bufferSize <= 1) {
+            return 2;
+        }
+        return Integer.highestOneBit(bufferSize - 1) << 1;
+    }
+}
\ No newline at end of file
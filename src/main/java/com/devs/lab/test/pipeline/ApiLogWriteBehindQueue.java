@@ -0,0 +1,192 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.service.ApiLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API 로그 이벤트를 bounded 큐에 넣고 전용 writer 스레드가 배치로 저장하는 write-behind 파이프라인.
+ * 호출 스레드는 큐에 넣기만 하므로 DB 지연이 외부 API 호출에 더해지지 않는다.
+ */
+@Slf4j
+public class ApiLogWriteBehindQueue implements SmartLifecycle {
+
+    private final ApiLogService apiLogService;
+    private final ApiLogProperties.WriteBehind properties;
+    @Nullable
+    private final ApiLogRetryScheduler retryScheduler;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param retryScheduler 저장에 실패한 배치를 넘길 재시도 스케줄러. null 이면 실패한 배치는 버린다.
+     */
+    public ApiLogWriteBehindQueue(ApiLogService apiLogService, ApiLogProperties.WriteBehind properties,
+                                  @Nullable ApiLogRetryScheduler retryScheduler) {
+        this.apiLogService = apiLogService;
+        this.properties = properties;
+        this.retryScheduler = retryScheduler;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /**
+     * 이벤트를 큐에 넣는다. overflow policy 에 의해 버려지면 false.
+     */
+    public boolean enqueue(Object event) {
+        boolean accepted = switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offerBlocking(event);
+            case DROP_NEWEST -> queue.offer(event);
+            case DROP_OLDEST -> offerDroppingOldest(event);
+            case SAMPLE -> offerSampled(event);
+        };
+        if (!accepted) {
+            droppedCount.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private boolean offerBlocking(Object event) {
+        try {
+            return queue.offer(event, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean offerDroppingOldest(Object event) {
+        while (!queue.offer(event)) {
+            if (queue.poll() != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerSampled(Object event) {
+        int capacity = properties.getQueueCapacity();
+        if (queue.size() >= capacity * properties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return false;
+        }
+        return queue.offer(event);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.getWriterThreads(); i++) {
+            Thread writer = new Thread(this::drainLoop, "ApiLogWriter-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread writer : writers) {
+            try {
+                TimeUnit.NANOSECONDS.timedJoin(writer, Math.max(0, deadline - System.nanoTime()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("API log write-behind stopped with {} unwritten events", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 마지막 drain 에서 재시도 스케줄러로 넘기는 이벤트가 대기열에 들어가도록 재시도 스케줄러보다 먼저 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * batch-size 만큼 채우되, flush-interval 이 지나면 채워진 만큼만 내보낸다.
+     */
+    private void fill(List<Object> batch) throws InterruptedException {
+        int batchSize = properties.getBatchSize();
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Object next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        if (retryScheduler != null && retryScheduler.isCircuitOpen()) {
+            batch.forEach(retryScheduler::defer);
+            return;
+        }
+        try {
+            apiLogService.saveAll(batch);
+        } catch (Exception e) {
+            log.error("Failed to write {} API log events: {}", batch.size(), e.getMessage(), e);
+            if (retryScheduler != null) {
+                retryScheduler.scheduleAll(batch);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.devs.lab.test.pipeline;
+
+import java.time.Duration;
+
+/**
+ * 연속 실패가 임계치를 넘으면 일정 시간 동안 쓰기를 막고(OPEN), 그 뒤 한 번의 시험 쓰기(HALF_OPEN)로
+ * DB 회복 여부를 확인한다.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 지금 쓰기를 시도해도 되는지. OPEN 시간이 지났으면 HALF_OPEN 으로 바꾸고 시험 쓰기를 허용한다.
+     * 시험 쓰기는 재시도 스레드 하나만 수행하므로 HALF_OPEN 동안 동시에 여러 쓰기가 나가지 않는다.
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
\ No newline at end of file
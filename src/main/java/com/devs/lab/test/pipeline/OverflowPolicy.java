@@ -0,0 +1,23 @@
+package com.devs.lab.test.pipeline;
+
+/**
+ * Write-behind 큐나 링 버퍼가 가득 찼을 때의 동작.
+ */
+public enum OverflowPolicy {
+    /**
+     * 공간이 생길 때까지 최대 block-timeout 만큼 대기한 뒤, 그래도 가득 차 있으면 버린다.
+     */
+    BLOCK,
+    /**
+     * 가장 오래된 이벤트를 버리고 새 이벤트를 넣는다.
+     */
+    DROP_OLDEST,
+    /**
+     * 새로 들어온 이벤트를 버린다.
+     */
+    DROP_NEWEST,
+    /**
+     * 큐가 sample-threshold 이상 차면 sample-rate 확률로만 받아들이고, 가득 차면 버린다.
+     */
+    SAMPLE
+}
@@ -0,0 +1,32 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.event.ApiCallEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * API 호출 이벤트를 Spring 의 리스너 조회와 멀티캐스트를 거치지 않고 {@link ApiLogRingBuffer} 에 바로 넣는 publisher.
+ * 그 밖의 이벤트는 원래 publisher 로 넘긴다.
+ */
+@Slf4j
+public class RingBufferEventPublisher implements ApplicationEventPublisher {
+
+    private final ApiLogRingBuffer ringBuffer;
+    private final ApplicationEventPublisher delegate;
+
+    public RingBufferEventPublisher(ApiLogRingBuffer ringBuffer, ApplicationEventPublisher delegate) {
+        this.ringBuffer = ringBuffer;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        if (event instanceof ApiCallEvent) {
+            if (!ringBuffer.publish(event)) {
+                log.debug("Dropped API log event by overflow policy: {}", event.getClass().getSimpleName());
+            }
+            return;
+        }
+        delegate.publishEvent(event);
+    }
+}
\ No newline at end of file
@@ -1,17 +1,116 @@
 package com.devs.lab.test.repository;
 
 import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiLogCursor;
+import com.devs.lab.test.model.dto.ApiLogSummary;
+import com.devs.lab.test.model.dto.EndpointCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApiLogRepository extends JpaRepository<ApiLogEntity, Long> {
 
+    String SUMMARY = "SELECT new com.devs.lab.test.model.dto.ApiLogSummary(l.id, l.eventType, l.requestId, l.endpoint, "
+            + "l.statusCode, l.timestamp, l.retryCount, l.isRetry, l.durationMicros) FROM ApiLogEntity l ";
+
+    /**
+     * stream 조회에서 한 번에 가져올 행 수. PostgreSQL 드라이버는 트랜잭션 안(autocommit off)에서만 지킨다.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     List<ApiLogEntity> findByRequestId(String requestId);
 
+    /**
+     * 조건에 맞는 행을 본문까지 모두 읽는다. 운영 테이블에서는 {@link #findSummariesByEventType} 나
+     * {@link #streamSummariesByEventType} 를 쓴다.
+     */
     List<ApiLogEntity> findByEventType(String eventType);
 
+    /**
+     * 조건에 맞는 행을 본문까지 모두 읽는다. 운영 테이블에서는 {@link #findSummariesByEndpoint} 나
+     * {@link #streamSummariesByEndpoint} 를 쓴다.
+     */
     List<ApiLogEntity> findByEndpoint(String endpoint);
+
+    /**
+     * 엔드포인트의 가장 느린 호출부터. (endpoint, duration_micros DESC) 부분 인덱스를 탄다.
+     */
+    List<ApiLogEntity> findByEndpointAndDurationMicrosNotNullOrderByDurationMicrosDesc(String endpoint, Limit limit);
+
+    /**
+     * (timestamp, id) 가 주어진 위치보다 뒤인 행을 그 순서로 limit 건. 행 값 비교로 인덱스에서 바로 시작 위치를 찾는다.
+     */
+    @Query(SUMMARY + "WHERE l.eventType = :eventType AND (l.timestamp, l.id) > (:timestamp, :id) "
+            + "ORDER BY l.timestamp, l.id")
+    List<ApiLogSummary> findSummariesByEventType(String eventType, LocalDateTime timestamp, long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE l.endpoint = :endpoint AND (l.timestamp, l.id) > (:timestamp, :id) "
+            + "ORDER BY l.timestamp, l.id")
+    List<ApiLogSummary> findSummariesByEndpoint(String endpoint, LocalDateTime timestamp, long id, Limit limit);
+
+    /**
+     * after 다음 페이지. 첫 페이지는 {@link ApiLogCursor#FIRST}, 이어지는 페이지는 {@link ApiLogCursor#after} 로 넘긴다.
+     */
+    default List<ApiLogSummary> findSummariesByEventType(String eventType, ApiLogCursor after, int size) {
+        return findSummariesByEventType(eventType, after.timestamp(), after.id(), Limit.of(size));
+    }
+
+    default List<ApiLogSummary> findSummariesByEndpoint(String endpoint, ApiLogCursor after, int size) {
+        return findSummariesByEndpoint(endpoint, after.timestamp(), after.id(), Limit.of(size));
+    }
+
+    /**
+     * [from, to) 구간의 행을 (timestamp, id) 순서로 흘려 보낸다. 읽기 전용 트랜잭션 안에서 부르고 스트림을 닫아야 한다.
+     * 결과가 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않는다. (event_type, timestamp, id) 인덱스를 탄다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY + "WHERE l.eventType = :eventType AND l.timestamp >= :from AND l.timestamp < :to "
+            + "ORDER BY l.timestamp, l.id")
+    Stream<ApiLogSummary> streamSummariesByEventType(String eventType, LocalDateTime from, LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY + "WHERE l.endpoint = :endpoint AND l.timestamp >= :from AND l.timestamp < :to "
+            + "ORDER BY l.timestamp, l.id")
+    Stream<ApiLogSummary> streamSummariesByEndpoint(String endpoint, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * ERROR, RETRY_ERROR 행의 keyset 페이지. 조건을 리터럴로 두어 idx_api_log_errors 부분 인덱스를 탄다.
+     */
+    @Query(SUMMARY + "WHERE l.eventType IN ('ERROR', 'RETRY_ERROR') AND (l.timestamp, l.id) > (:timestamp, :id) "
+            + "ORDER BY l.timestamp, l.id")
+    List<ApiLogSummary> findErrorSummaries(LocalDateTime timestamp, long id, Limit limit);
+
+    default List<ApiLogSummary> findErrorSummaries(ApiLogCursor after, int size) {
+        return findErrorSummaries(after.timestamp(), after.id(), Limit.of(size));
+    }
+
+    /**
+     * [from, to) 구간의 엔드포인트별 오류 수, 많은 순. 부분 인덱스에 endpoint 를 INCLUDE 해 두어 테이블을 읽지 않는다.
+     */
+    @Query("SELECT new com.devs.lab.test.model.dto.EndpointCount(l.endpoint, COUNT(l)) FROM ApiLogEntity l "
+            + "WHERE l.eventType IN ('ERROR', 'RETRY_ERROR') AND l.timestamp >= :from AND l.timestamp < :to "
+            + "GROUP BY l.endpoint ORDER BY COUNT(l) DESC")
+    List<EndpointCount> countErrorsByEndpoint(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * [from, to) 구간의 엔드포인트 행 수. (endpoint, timestamp, id) 인덱스를 탄다.
+     */
+    @Query("SELECT COUNT(l) FROM ApiLogEntity l WHERE l.endpoint = :endpoint AND l.timestamp >= :from "
+            + "AND l.timestamp < :to")
+    long countByEndpoint(String endpoint, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * [from, to) 구간의 전체 행 수. 며칠 단위의 넓은 구간은 BRIN 인덱스로 블록 범위만 읽는다.
+     */
+    @Query("SELECT COUNT(l) FROM ApiLogEntity l WHERE l.timestamp >= :from AND l.timestamp < :to")
+    long countBetween(LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
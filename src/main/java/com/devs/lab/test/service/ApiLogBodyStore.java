@@ -0,0 +1,352 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogBody;
+import com.devs.lab.test.model.ApiLogBodyLoader;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.util.Transactions;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 임계치보다 큰 본문을 zstd 로 압축해 api_log_body 에 따로 저장하고, 요청할 때만 읽어 푼다.
+ * api_log 행에는 body_id 만 남으므로 스캔과 insert 가 가벼워진다.
+ * <p>
+ * 저장된 사전이 없으면 처음 들어오는 본문을 training-sample-size 만큼 모아 사전을 학습하고
+ * api_log_body_dictionary 에 저장한다. 본문마다 압축에 쓴 사전 id 를 남기므로 사전이 바뀌어도 이전 본문을 풀 수 있다.
+ * <p>
+ * dedup 을 켜면 min-size 이상인 본문은 SHA-256 으로 주소를 매겨 api_log_content 에 한 번만 저장한다. 최근에 쓴 해시는
+ * 메모리 LRU 에 남겨 두고 DB 를 거치지 않는다. LRU 는 트랜잭션이 커밋된 뒤에만 갱신하므로, 롤백된 본문을 있다고
+ * 믿고 참조하는 일은 없다. 사전은 학습한 본문의 트랜잭션과 따로 커밋해, 그 트랜잭션이 롤백돼도 사전을 참조하는
+ * 본문이 풀리지 않는 일이 없게 한다.
+ */
+@Slf4j
+public class ApiLogBodyStore implements ApiLogBodyLoader {
+
+    private static final String INSERT_SQL = "INSERT INTO api_log_body (id, timestamp, dictionary_id, payload, response) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT dictionary_id, payload, response FROM api_log_body "
+            + "WHERE id = ? AND timestamp = ?";
+    private static final String LATEST_DICTIONARY_SQL = "SELECT id, dictionary FROM api_log_body_dictionary "
+            + "ORDER BY id DESC LIMIT 1";
+    private static final String DICTIONARY_SQL = "SELECT dictionary FROM api_log_body_dictionary WHERE id = ?";
+    private static final String TOUCH_CONTENT_SQL = "UPDATE api_log_content SET last_seen_at = ? WHERE hash = ?";
+    private static final String INSERT_CONTENT_SQL = "INSERT INTO api_log_content "
+            + "(hash, dictionary_id, content, created_at, last_seen_at) VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_CONTENT_SQL = "SELECT dictionary_id, content FROM api_log_content WHERE hash = ?";
+    private static final String INSERT_DICTIONARY_SQL = "INSERT INTO api_log_body_dictionary (dictionary, created_at) "
+            + "VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate dictionaryTransaction;
+    private final ApiLogProperties.BodyStorage properties;
+    private final long threshold;
+    private final long dedupMinSize;
+    private final long touchIntervalMillis;
+    private final RecentHashes recentHashes;
+    private final Map<Integer, ZstdDictDecompress> decompressors = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile Dictionary dictionary;
+    @Nullable
+    private ZstdDictTrainer trainer;
+    private boolean initialized;
+
+    public ApiLogBodyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ApiLogProperties.BodyStorage properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionaryTransaction = new TransactionTemplate(transactionManager);
+        this.dictionaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.threshold = properties.getThreshold().toBytes();
+        ApiLogProperties.BodyStorage.Dedup dedup = properties.getDedup();
+        this.dedupMinSize = dedup.isEnabled() ? dedup.getMinSize().toBytes() : Long.MAX_VALUE;
+        this.touchIntervalMillis = dedup.getTouchInterval().toMillis();
+        this.recentHashes = new RecentHashes(dedup.getCacheSize());
+    }
+
+    /**
+     * 캡처한 본문을 api_log_body 로 옮겨야 하는지. 길이는 문자 수로 어림한다.
+     */
+    public boolean isCold(@Nullable String payload, @Nullable String response) {
+        long size = (payload != null ? payload.length() : 0) + (response != null ? response.length() : 0);
+        return size > 0 && size >= threshold;
+    }
+
+    /**
+     * dedup 대상 본문이면 SHA-256 해시, 아니면 null. 길이는 문자 수로 어림한다.
+     */
+    @Nullable
+    public byte[] contentHash(@Nullable String body) {
+        if (body == null || body.length() < dedupMinSize) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * body_id 나 본문 해시가 있는 행의 본문을 압축해 저장한다. 로그 행보다 먼저, 같은 트랜잭션에서 부른다.
+     */
+    public void write(List<ApiLogEntity> entities) {
+        List<Object[]> rows = new ArrayList<>();
+        Map<ByteBuffer, String> contents = new LinkedHashMap<>();
+        for (ApiLogEntity entity : entities) {
+            ApiLogBody body = entity.getColdBody();
+            if (body == null) {
+                continue;
+            }
+            if (entity.getBodyId() != null) {
+                rows.add(compress(entity, body));
+            } else {
+                addContent(contents, entity.getPayloadHash(), body.payload());
+                addContent(contents, entity.getResponseHash(), body.response());
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows,
+                    new int[]{Types.OTHER, Types.TIMESTAMP, Types.INTEGER, Types.BINARY, Types.BINARY});
+        }
+        if (!contents.isEmpty()) {
+            writeContents(contents);
+        }
+    }
+
+    @Override
+    public ApiLogBody load(ApiLogEntity entity) {
+        if (entity.getBodyId() == null) {
+            return new ApiLogBody(loadContent(entity.getPayloadHash()), loadContent(entity.getResponseHash()));
+        }
+        List<ApiLogBody> bodies = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            int dictionaryId = rs.getInt(1);
+            ZstdDictDecompress decompressor = rs.wasNull() ? null : decompressor(dictionaryId);
+            return new ApiLogBody(decompress(rs.getBytes(2), decompressor), decompress(rs.getBytes(3), decompressor));
+        }, entity.getBodyId(), Timestamp.valueOf(entity.getTimestamp()));
+        return bodies.isEmpty() ? null : bodies.get(0);
+    }
+
+    private static void addContent(Map<ByteBuffer, String> contents, @Nullable byte[] hash, @Nullable String body) {
+        if (hash != null && body != null) {
+            contents.putIfAbsent(ByteBuffer.wrap(hash), body);
+        }
+    }
+
+    /**
+     * 캐시에 없거나 touch-interval 이 지난 해시만 DB 로 보낸다. 이미 있는 행은 last_seen_at 만 갱신하고,
+     * 갱신되지 않은 해시만 압축해 insert 한다. 다른 인스턴스와 동시에 넣는 경우는 ON CONFLICT 로 넘긴다.
+     */
+    private void writeContents(Map<ByteBuffer, String> contents) {
+        long now = System.currentTimeMillis();
+        List<ByteBuffer> stale = recentHashes.stale(contents.keySet(), now - touchIntervalMillis);
+        if (stale.isEmpty()) {
+            return;
+        }
+        Timestamp seen = new Timestamp(now);
+        List<Object[]> touches = new ArrayList<>(stale.size());
+        for (ByteBuffer hash : stale) {
+            touches.add(new Object[]{seen, hash.array()});
+        }
+        int[] touched = jdbcTemplate.batchUpdate(TOUCH_CONTENT_SQL, touches, new int[]{Types.TIMESTAMP, Types.BINARY});
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < stale.size(); i++) {
+            // 드라이버가 건수를 알려 주지 않으면(SUCCESS_NO_INFO) 없는 것으로 보고 insert 에 맡긴다
+            if (touched[i] != 1) {
+                byte[] content = bytes(contents.get(stale.get(i)));
+                Dictionary current = currentDictionary(content, null);
+                inserts.add(new Object[]{stale.get(i).array(), current != null ? current.id() : null,
+                        compress(content, current), seen, seen});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CONTENT_SQL, inserts,
+                    new int[]{Types.BINARY, Types.INTEGER, Types.BINARY, Types.TIMESTAMP, Types.TIMESTAMP});
+        }
+        Transactions.afterCommit(() -> recentHashes.seen(stale, now));
+    }
+
+    @Nullable
+    private String loadContent(@Nullable byte[] hash) {
+        if (hash == null) {
+            return null;
+        }
+        List<String> contents = jdbcTemplate.query(SELECT_CONTENT_SQL, (rs, rowNum) -> {
+            int dictionaryId = rs.getInt(1);
+            ZstdDictDecompress decompressor = rs.wasNull() ? null : decompressor(dictionaryId);
+            return decompress(rs.getBytes(2), decompressor);
+        }, hash);
+        return contents.isEmpty() ? null : contents.get(0);
+    }
+
+    private Object[] compress(ApiLogEntity entity, ApiLogBody body) {
+        byte[] payload = bytes(body.payload());
+        byte[] response = bytes(body.response());
+        Dictionary current = currentDictionary(payload, response);
+        return new Object[]{
+                entity.getBodyId(),
+                Timestamp.valueOf(entity.getTimestamp()),
+                current != null ? current.id() : null,
+                compress(payload, current),
+                compress(response, current)
+        };
+    }
+
+    private byte[] compress(@Nullable byte[] data, @Nullable Dictionary current) {
+        if (data == null) {
+            return null;
+        }
+        return current != null ? Zstd.compress(data, current.compressor()) : Zstd.compress(data, properties.getLevel());
+    }
+
+    private static String decompress(@Nullable byte[] data, @Nullable ZstdDictDecompress decompressor) {
+        if (data == null) {
+            return null;
+        }
+        int size = (int) Zstd.getFrameContentSize(data);
+        byte[] bytes = decompressor != null ? Zstd.decompress(data, decompressor, size) : Zstd.decompress(data, size);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ZstdDictDecompress decompressor(int dictionaryId) {
+        return decompressors.computeIfAbsent(dictionaryId, id -> new ZstdDictDecompress(
+                jdbcTemplate.queryForObject(DICTIONARY_SQL, byte[].class, id)));
+    }
+
+    /**
+     * 지금 압축에 쓸 사전. 사전이 없으면 본문을 학습 표본으로 모으고, 표본이 차면 사전을 학습해 저장한다.
+     */
+    @Nullable
+    private Dictionary currentDictionary(@Nullable byte[] payload, @Nullable byte[] response) {
+        Dictionary current = dictionary;
+        if (current != null || !properties.isDictionary()) {
+            return current;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                initialized = true;
+                dictionary = loadLatestDictionary();
+                if (dictionary == null) {
+                    trainer = new ZstdDictTrainer((int) properties.getTrainingSampleSize().toBytes(),
+                            (int) properties.getDictionarySize().toBytes());
+                }
+            }
+            if (trainer != null && !(addSample(payload) && addSample(response))) {
+                dictionary = train(trainer);
+                trainer = null;
+            }
+            return dictionary;
+        }
+    }
+
+    private boolean addSample(@Nullable byte[] sample) {
+        return sample == null || trainer.addSample(sample);
+    }
+
+    @Nullable
+    private Dictionary loadLatestDictionary() {
+        try {
+            List<Dictionary> latest = jdbcTemplate.query(LATEST_DICTIONARY_SQL,
+                    (rs, rowNum) -> dictionary(rs.getInt(1), rs.getBytes(2)));
+            return latest.isEmpty() ? null : latest.get(0);
+        } catch (Exception e) {
+            log.warn("Could not load api_log body dictionary, compressing without one: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private Dictionary train(ZstdDictTrainer samples) {
+        try {
+            byte[] trained = samples.trainSamples();
+            int id = dictionaryTransaction.execute(status -> insertDictionary(trained));
+            log.info("Trained api_log body dictionary {} ({} bytes)", id, trained.length);
+            return dictionary(id, trained);
+        } catch (Exception e) {
+            log.warn("Could not train api_log body dictionary, compressing without one: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private int insertDictionary(byte[] trained) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_DICTIONARY_SQL, new String[]{"id"});
+            ps.setBytes(1, trained);
+            ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Integer.class);
+    }
+
+    private Dictionary dictionary(int id, byte[] trained) {
+        decompressors.put(id, new ZstdDictDecompress(trained));
+        return new Dictionary(id, new ZstdDictCompress(trained, properties.getLevel()));
+    }
+
+    private static byte[] bytes(@Nullable String text) {
+        return text != null ? text.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private record Dictionary(int id, ZstdDictCompress compressor) {
+    }
+
+    /**
+     * 최근에 DB 에 있음을 확인한 해시와 그 시각. access-order LinkedHashMap 으로 가장 오래 안 쓴 해시부터 밀어낸다.
+     */
+    private static final class RecentHashes {
+
+        private final Map<ByteBuffer, Long> seenAt;
+
+        RecentHashes(int capacity) {
+            this.seenAt = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Long> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized List<ByteBuffer> stale(Collection<ByteBuffer> hashes, long seenAfter) {
+            List<ByteBuffer> stale = new ArrayList<>();
+            for (ByteBuffer hash : hashes) {
+                Long seen = seenAt.get(hash);
+                if (seen == null || seen < seenAfter) {
+                    stale.add(hash);
+                }
+            }
+            return stale;
+        }
+
+        synchronized void seen(List<ByteBuffer> hashes, long now) {
+            for (ByteBuffer hash : hashes) {
+                seenAt.put(hash, now);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,17 +1,37 @@
 package com.devs.lab.test.service;
 
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
 import com.devs.lab.test.event.ApiCallErrorEvent;
 import com.devs.lab.test.event.ApiCallInitiatedEvent;
 import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.metrics.ApiLogMetrics;
+import com.devs.lab.test.model.ApiLogBody;
 import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiCallTiming;
 import com.devs.lab.test.repository.ApiLogRepository;
+import com.devs.lab.test.stats.ApiLogStatsAggregator;
+import com.devs.lab.test.util.RequestIds;
+import com.devs.lab.test.util.Transactions;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static com.devs.lab.test.Constants.ERROR;
 import static com.devs.lab.test.Constants.INITIATED;
@@ -19,64 +39,315 @@ import static com.devs.lab.test.Constants.RETRY_ERROR;
 import static com.devs.lab.test.Constants.SUCCESS;
 
 @Service
-@RequiredArgsConstructor
 public class ApiLogService {
 
     private final ApiLogRepository repository;
     private final ObjectMapper objectMapper;
+    private final ApiLogWriter writer;
+    private final boolean singleRecord;
+    private final RetryHistoryBuffer retryHistory;
+    private final CapturePolicy capturePolicy;
+    private final boolean passThroughJson;
+    @Nullable
+    private final ApiLogBodyStore bodyStore;
+    @Nullable
+    private final ApiLogStatsAggregator stats;
+    private final ZoneId zone = ZoneId.systemDefault();
 
+    /**
+     * @param writer    배치 저장에 사용할 writer. null 이면 JPA {@code saveAll} 을 사용한다.
+     * @param metrics   배치 저장 시간과 크기를 기록할 메트릭. null 이면 기록하지 않는다.
+     * @param bodyStore 큰 본문이나 반복되는 본문을 압축해 따로 저장할 저장소. null 이면 본문은 JSONB 컬럼에 저장한다.
+     * @param stats     커밋된 행을 엔드포인트별 분 단위 통계로 모을 집계기. null 이면 집계하지 않는다.
+     */
+    public ApiLogService(ApiLogRepository repository, ObjectMapper objectMapper, ApiLogProperties properties,
+                         @Nullable ApiLogWriter writer, @Nullable ApiLogMetrics metrics,
+                         @Nullable ApiLogBodyStore bodyStore, @Nullable ApiLogStatsAggregator stats) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        ApiLogWriter batchWriter = writer != null ? writer : repository::saveAll;
+        this.writer = metrics != null ? metrics.timed(batchWriter) : batchWriter;
+        this.singleRecord = properties.getStorageMode() == ApiLogProperties.StorageMode.SINGLE_RECORD;
+        this.retryHistory = new RetryHistoryBuffer(properties.getMaxPendingRequests());
+        this.capturePolicy = new CapturePolicy(properties.getCapture());
+        this.passThroughJson = properties.getJsonMode() == ApiLogProperties.JsonMode.PASS_THROUGH;
+        this.bodyStore = bodyStore;
+        this.stats = stats;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveApiCallInitiated(ApiCallInitiatedEvent event) {
-        ApiLogEntity entity = ApiLogEntity.builder()
+        if (absorb(event)) {
+            return;
+        }
+        save(toInitiatedEntity(event));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveApiCallSuccess(ApiCallSuccessEvent event) {
+        save(toSuccessEntity(event));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveApiCallError(ApiCallErrorEvent event) {
+        if (absorb(event)) {
+            return;
+        }
+        save(toErrorEntity(event));
+    }
+
+    /**
+     * 여러 이벤트를 하나의 트랜잭션으로 저장한다. (write-behind writer 용)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveAll(Collection<?> events) {
+        List<ApiLogEntity> entities = new ArrayList<>(events.size());
+        for (Object event : events) {
+            if (!absorb(event)) {
+                entities.add(toEntity(event));
+            }
+        }
+        if (!entities.isEmpty()) {
+            write(entities);
+        }
+    }
+
+    /**
+     * 이미 변환된 행들을 하나의 트랜잭션으로 저장한다. (spool 재생용)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveEntities(List<ApiLogEntity> entities) {
+        write(entities);
+    }
+
+    private void save(ApiLogEntity entity) {
+        if (bodyStore != null) {
+            bodyStore.write(List.of(entity));
+        }
+        repository.save(entity);
+        recordStats(List.of(entity));
+    }
+
+    private void write(List<ApiLogEntity> entities) {
+        if (bodyStore != null) {
+            bodyStore.write(entities);
+        }
+        writer.write(entities);
+        recordStats(entities);
+    }
+
+    /**
+     * 롤백된 행이 통계에 섞이지 않도록 커밋된 뒤에 집계한다.
+     */
+    private void recordStats(List<ApiLogEntity> entities) {
+        if (stats != null) {
+            Transactions.afterCommit(() -> stats.record(entities));
+        }
+    }
+
+    /**
+     * SINGLE_RECORD 모드에서 INITIATED 와 RETRY_ERROR 는 행을 쓰지 않고 메모리에만 반영한다.
+     * 이벤트가 흡수되어 저장할 것이 없으면 true.
+     */
+    public boolean absorb(Object event) {
+        if (!singleRecord) {
+            return false;
+        }
+        if (event instanceof ApiCallInitiatedEvent) {
+            return true;
+        }
+        if (event instanceof ApiCallErrorEvent error && error.isRetry()) {
+            retryHistory.record(error.getRequest().getRequestId(), error.getRetryCount(),
+                    error.getError().getMessage(), toLocalDateTime(error.getTimestamp()));
+            return true;
+        }
+        return false;
+    }
+
+    public ApiLogEntity toEntity(Object event) {
+        return switch (event) {
+            case ApiCallInitiatedEvent initiated -> toInitiatedEntity(initiated);
+            case ApiCallSuccessEvent success -> toSuccessEntity(success);
+            case ApiCallErrorEvent error -> toErrorEntity(error);
+            default -> throw new IllegalArgumentException("Unsupported API log event: " + event.getClass().getName());
+        };
+    }
+
+    private ApiLogEntity toInitiatedEntity(ApiCallInitiatedEvent event) {
+        CapturePolicy.Decision capture = capturePolicy.decide(event.getRequest().getEndpoint(), null);
+        return bodies(ApiLogEntity.builder(), capture, event.getRequest().getPayload())
                 .eventType(INITIATED)
                 .requestId(event.getRequest().getRequestId())
                 .endpoint(event.getRequest().getEndpoint())
-                .payload(toJsonNode(event.getRequest().getPayload()))
-                .timestamp(LocalDateTime.now())
+                .timestamp(toLocalDateTime(event.getTimestamp()))
                 .retryCount(0)
                 .isRetry(false)
                 .build();
-        repository.save(entity);
     }
 
-    public void saveApiCallSuccess(ApiCallSuccessEvent event) {
-        ApiLogEntity entity = ApiLogEntity.builder()
+    private ApiLogEntity toSuccessEntity(ApiCallSuccessEvent event) {
+        JsonNode history = completedRetryHistory(event.getRequest().getRequestId());
+        CapturePolicy.Decision capture = capturePolicy.decide(event.getRequest().getEndpoint(),
+                event.getResponse().getStatusCode());
+        ApiLogEntity.ApiLogEntityBuilder builder = bodies(ApiLogEntity.builder(), capture,
+                event.getRequest().getPayload(), event.getResponse().getData());
+        return timed(builder, event.getTiming())
                 .eventType(SUCCESS)
                 .requestId(event.getRequest().getRequestId())
                 .endpoint(event.getRequest().getEndpoint())
-                .payload(toJsonNode(event.getRequest().getPayload()))
-                .response(toJsonNode(event.getResponse().getData()))
                 .statusCode(event.getResponse().getStatusCode())
-                .timestamp(LocalDateTime.now())
-                .retryCount(0)
+                .timestamp(toLocalDateTime(event.getTimestamp()))
+                .retryCount(history != null ? history.size() : 0)
                 .isRetry(false)
+                .retryHistory(history)
                 .build();
-        repository.save(entity);
     }
 
-    public void saveApiCallError(ApiCallErrorEvent event) {
-        ApiLogEntity entity = ApiLogEntity.builder()
+    private ApiLogEntity toErrorEntity(ApiCallErrorEvent event) {
+        Integer statusCode = event.getError() instanceof RestClientResponseException response
+                ? response.getStatusCode().value() : null;
+        CapturePolicy.Decision capture = capturePolicy.decide(event.getRequest().getEndpoint(), statusCode);
+        ApiLogEntity.ApiLogEntityBuilder builder = bodies(ApiLogEntity.builder(), capture,
+                event.getRequest().getPayload());
+        return timed(builder, event.getTiming())
                 .eventType(event.isRetry() ? RETRY_ERROR : ERROR)
                 .requestId(event.getRequest().getRequestId())
                 .endpoint(event.getRequest().getEndpoint())
-                .payload(toJsonNode(event.getRequest().getPayload()))
                 .errorMessage(toJsonNode(event.getError().getMessage()))
-                .timestamp(LocalDateTime.now())
+                .timestamp(toLocalDateTime(event.getTimestamp()))
                 .retryCount(event.getRetryCount())
                 .isRetry(event.isRetry())
+                .retryHistory(event.isRetry() ? null : completedRetryHistory(event.getRequest().getRequestId()))
                 .build();
-        repository.save(entity);
+    }
+
+    /**
+     * 호출 시작 시각, 첫 바이트까지와 전체 소요 시간을 채운다. 측정값이 없는 이벤트는 비워 둔다.
+     */
+    private ApiLogEntity.ApiLogEntityBuilder timed(ApiLogEntity.ApiLogEntityBuilder builder,
+                                                   @Nullable ApiCallTiming timing) {
+        if (timing == null) {
+            return builder;
+        }
+        LocalDateTime startedAt = toLocalDateTime(timing.getStartedAt());
+        return builder
+                .startedAt(startedAt)
+                .endedAt(startedAt.plus(timing.getDurationMicros(), ChronoUnit.MICROS))
+                .firstByteMicros(timing.getFirstByteMicros())
+                .durationMicros(timing.getDurationMicros());
+    }
+
+    /**
+     * 이벤트가 생성될 때 읽은 시각을 그대로 쓴다. 변환 시점에 시계를 다시 읽지 않는다.
+     */
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    /**
+     * 버퍼의 재시도 이력은 행이 커밋된 뒤에 지운다. 저장이 실패해 재시도 스케줄러가 행을 다시 만들어도 이력이 남는다.
+     */
+    private JsonNode completedRetryHistory(String requestId) {
+        if (!singleRecord) {
+            return null;
+        }
+        JsonNode history = retryHistory.get(requestId);
+        if (history != null) {
+            Transactions.afterCommit(() -> retryHistory.complete(requestId));
+        }
+        return history;
+    }
+
+    /**
+     * 캡처 정책에 따라 본문을 잘라 채운다. 본문 저장소가 있으면 dedup 대상 본문은 해시로 참조하고, 그렇지 않고 합친
+     * 크기가 임계치 이상이면 압축 저장할 본문으로 넘긴다. 저장소로 옮긴 본문의 JSONB 컬럼은 비워 둔다.
+     */
+    private ApiLogEntity.ApiLogEntityBuilder bodies(ApiLogEntity.ApiLogEntityBuilder builder,
+                                                    CapturePolicy.Decision capture, String payload, String response) {
+        String payloadText = capture.payload() ? capture.truncate(payload) : null;
+        String responseText = capture.response() ? capture.truncate(response) : null;
+        if (bodyStore == null) {
+            return builder
+                    .payload(captured(capture.payload(), payloadText))
+                    .response(captured(capture.response(), responseText));
+        }
+        byte[] payloadHash = bodyStore.contentHash(payloadText);
+        byte[] responseHash = bodyStore.contentHash(responseText);
+        if (payloadHash != null || responseHash != null) {
+            return builder
+                    .payloadHash(payloadHash)
+                    .responseHash(responseHash)
+                    .coldBody(new ApiLogBody(payloadHash != null ? payloadText : null,
+                            responseHash != null ? responseText : null))
+                    .payload(payloadHash == null ? captured(capture.payload(), payloadText) : null)
+                    .response(responseHash == null ? captured(capture.response(), responseText) : null);
+        }
+        if (bodyStore.isCold(payloadText, responseText)) {
+            return builder.bodyId(RequestIds.nextUuid()).coldBody(new ApiLogBody(payloadText, responseText));
+        }
+        return builder
+                .payload(captured(capture.payload(), payloadText))
+                .response(captured(capture.response(), responseText));
+    }
+
+    /**
+     * 응답이 없는 INITIATED / ERROR 이벤트용.
+     */
+    private ApiLogEntity.ApiLogEntityBuilder bodies(ApiLogEntity.ApiLogEntityBuilder builder,
+                                                    CapturePolicy.Decision capture, String payload) {
+        String payloadText = capture.payload() ? capture.truncate(payload) : null;
+        if (bodyStore == null) {
+            return builder.payload(captured(capture.payload(), payloadText));
+        }
+        byte[] payloadHash = bodyStore.contentHash(payloadText);
+        if (payloadHash != null) {
+            return builder.payloadHash(payloadHash).coldBody(new ApiLogBody(payloadText, null));
+        }
+        if (bodyStore.isCold(payloadText, null)) {
+            return builder.bodyId(RequestIds.nextUuid()).coldBody(new ApiLogBody(payloadText, null));
+        }
+        return builder.payload(captured(capture.payload(), payloadText));
+    }
+
+    /**
+     * 잘라 둔 본문을 JSON 으로 만든다. 캡처하지 않는 본문은 null 로 남긴다.
+     */
+    private JsonNode captured(boolean enabled, String truncated) {
+        return enabled ? toJsonNode(truncated) : null;
     }
 
     private JsonNode toJsonNode(String data) {
         if (data == null) {
             return objectMapper.createObjectNode();
         }
+        if (passThroughJson) {
+            return isJson(data) ? new POJONode(new RawValue(data)) : rawNode(data);
+        }
         try {
             return objectMapper.readTree(data);
         } catch (Exception e) {
-            ObjectNode node = objectMapper.createObjectNode();
-            node.put("raw", data);
-            return node;
+            return rawNode(data);
+        }
+    }
+
+    /**
+     * 트리를 만들지 않고 토큰만 훑어 JSON 문법을 확인한다.
+     */
+    private boolean isJson(String data) {
+        try (JsonParser parser = objectMapper.createParser(data)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
         }
     }
+
+    private ObjectNode rawNode(String data) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("raw", data);
+        return node;
+    }
 }
\ No newline at end of file
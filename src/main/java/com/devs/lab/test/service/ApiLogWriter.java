@@ -0,0 +1,14 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.model.ApiLogEntity;
+
+import java.util.List;
+
+/**
+ * 변환이 끝난 api_log 행들을 한 번에 저장하는 전략.
+ */
+@FunctionalInterface
+public interface ApiLogWriter {
+
+    void write(List<ApiLogEntity> entities);
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.util.EndpointPaths;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 엔드포인트 패턴과 상태 코드 구간별로 요청/응답 본문을 저장할지, 얼마나 저장할지 정한다.
+ * 본문을 버리더라도 행의 메타데이터(요청 ID, 엔드포인트, 상태 코드 등)는 항상 저장된다.
+ */
+class CapturePolicy {
+
+    private static final Decision FULL = new Decision(true, true, 0, ApiLogProperties.Capture.Truncation.HEAD);
+    private static final Decision NONE = new Decision(false, false, 0, ApiLogProperties.Capture.Truncation.HEAD);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Rule> rules;
+
+    CapturePolicy(ApiLogProperties.Capture capture) {
+        this.rules = capture.getRules().stream().map(Rule::new).toList();
+    }
+
+    /**
+     * @param statusCode 응답 상태 코드. INITIATED 이거나 응답 없이 실패한 호출이면 null.
+     */
+    Decision decide(String endpoint, @Nullable Integer statusCode) {
+        if (rules.isEmpty()) {
+            return FULL;
+        }
+        String path = EndpointPaths.path(endpoint);
+        String statusClass = statusCode != null ? (statusCode / 100) + "xx" : null;
+        for (Rule rule : rules) {
+            if (rule.matches(pathMatcher, path, statusClass)) {
+                return rule.sample() ? rule.decision : NONE;
+            }
+        }
+        return FULL;
+    }
+
+    record Decision(boolean payload, boolean response, int maxBytes, ApiLogProperties.Capture.Truncation truncation) {
+
+        /**
+         * maxBytes(UTF-8) 를 넘는 본문을 잘라낸다. 잘린 자리에는 생략된 바이트 수를 남긴다.
+         */
+        String truncate(@Nullable String body) {
+            // UTF-8 에서 char 하나는 최대 3바이트이므로 이보다 짧으면 인코딩 없이 통과시킨다.
+            if (body == null || maxBytes <= 0 || body.length() <= maxBytes / 3) {
+                return body;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length <= maxBytes) {
+                return body;
+            }
+            String marker = "...[truncated " + (bytes.length - maxBytes) + " bytes]...";
+            if (truncation == ApiLogProperties.Capture.Truncation.HEAD_TAIL) {
+                int head = maxBytes / 2;
+                int tail = maxBytes - head;
+                return decode(bytes, 0, head) + marker + decode(bytes, bytes.length - tail, tail);
+            }
+            return decode(bytes, 0, maxBytes) + marker;
+        }
+
+        private static String decode(byte[] bytes, int offset, int length) {
+            // 멀티바이트 문자 중간에서 잘린 조각은 버린다.
+            String text = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            int start = 0;
+            int end = text.length();
+            while (start < end && text.charAt(start) == '\uFFFD') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) == '\uFFFD') {
+                end--;
+            }
+            return text.substring(start, end);
+        }
+    }
+
+    private static final class Rule {
+        private final String endpoint;
+        private final List<String> statuses;
+        private final double sampleRate;
+        private final int maxPerSecond;
+        private final Decision decision;
+        private long windowSecond = -1;
+        private int windowCount;
+
+        Rule(ApiLogProperties.Capture.Rule rule) {
+            this.endpoint = rule.getEndpoint();
+            this.statuses = rule.getStatuses().stream().map(String::toLowerCase).toList();
+            this.sampleRate = rule.getSampleRate();
+            this.maxPerSecond = rule.getMaxPerSecond();
+            this.decision = new Decision(rule.isPayload(), rule.isResponse(), rule.getMaxBytes(), rule.getTruncation());
+        }
+
+        boolean matches(AntPathMatcher pathMatcher, String path, @Nullable String statusClass) {
+            if (!statuses.isEmpty() && (statusClass == null || !statuses.contains(statusClass))) {
+                return false;
+            }
+            return pathMatcher.match(endpoint, path);
+        }
+
+        boolean sample() {
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return false;
+            }
+            return maxPerSecond <= 0 || tryAcquire();
+        }
+
+        private synchronized boolean tryAcquire() {
+            long second = System.nanoTime() / 1_000_000_000L;
+            if (second != windowSecond) {
+                windowSecond = second;
+                windowCount = 0;
+            }
+            return ++windowCount <= maxPerSecond;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * IDENTITY 키 때문에 Hibernate JDBC 배치가 꺼지는 문제를 피해, JdbcTemplate 으로 multi-row INSERT 를 실행한다.
+ * id 는 BIGSERIAL 기본값으로 DB 가 채운다.
+ */
+@Slf4j
+public class JdbcBatchApiLogWriter implements ApiLogWriter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO api_log (event_type, request_id, endpoint, payload, response, "
+            + "status_code, error_message, timestamp, retry_count, is_retry, retry_history, started_at, ended_at, "
+            + "first_byte_micros, duration_micros, body_id, payload_hash, response_hash) VALUES ";
+    private static final int COLUMNS = 18;
+    private static final int MAX_BIND_PARAMETERS = 65_535;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int rowsPerStatement;
+    private final String jsonPlaceholder;
+    private final String fullStatement;
+
+    public JdbcBatchApiLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, int rowsPerStatement) {
+        Assert.isTrue(rowsPerStatement > 0 && rowsPerStatement * COLUMNS <= MAX_BIND_PARAMETERS,
+                "rowsPerStatement must be between 1 and " + MAX_BIND_PARAMETERS / COLUMNS);
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.rowsPerStatement = rowsPerStatement;
+        this.jsonPlaceholder = jsonPlaceholder(jdbcTemplate.getDataSource());
+        this.fullStatement = insertStatement(rowsPerStatement);
+    }
+
+    @Override
+    public void write(List<ApiLogEntity> entities) {
+        for (int from = 0; from < entities.size(); from += rowsPerStatement) {
+            List<ApiLogEntity> chunk = entities.subList(from, Math.min(from + rowsPerStatement, entities.size()));
+            String sql = chunk.size() == rowsPerStatement ? fullStatement : insertStatement(chunk.size());
+            jdbcTemplate.update(sql, ps -> bind(ps, chunk));
+        }
+    }
+
+    private void bind(PreparedStatement ps, List<ApiLogEntity> chunk) throws SQLException {
+        int index = 1;
+        for (ApiLogEntity entity : chunk) {
+            ps.setString(index++, entity.getEventType());
+            ps.setString(index++, entity.getRequestId());
+            ps.setString(index++, entity.getEndpoint());
+            setJson(ps, index++, entity.getPayload());
+            setJson(ps, index++, entity.getResponse());
+            setInteger(ps, index++, entity.getStatusCode());
+            setJson(ps, index++, entity.getErrorMessage());
+            ps.setTimestamp(index++, Timestamp.valueOf(entity.getTimestamp()));
+            setInteger(ps, index++, entity.getRetryCount());
+            ps.setBoolean(index++, Boolean.TRUE.equals(entity.getIsRetry()));
+            setJson(ps, index++, entity.getRetryHistory());
+            setTimestamp(ps, index++, entity.getStartedAt());
+            setTimestamp(ps, index++, entity.getEndedAt());
+            setLong(ps, index++, entity.getFirstByteMicros());
+            setLong(ps, index++, entity.getDurationMicros());
+            ps.setObject(index++, entity.getBodyId(), Types.OTHER);
+            ps.setBytes(index++, entity.getPayloadHash());
+            ps.setBytes(index++, entity.getResponseHash());
+        }
+    }
+
+    private void setJson(PreparedStatement ps, int index, JsonNode node) throws SQLException {
+        if (node == null) {
+            ps.setNull(index, Types.VARCHAR);
+            return;
+        }
+        try {
+            ps.setString(index, objectMapper.writeValueAsString(node));
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Failed to serialize JSON column", e);
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    private String insertStatement(int rows) {
+        String row = "(?, ?, ?, " + jsonPlaceholder + ", " + jsonPlaceholder + ", ?, " + jsonPlaceholder + ", ?, ?, ?, "
+                + jsonPlaceholder + ", ?, ?, ?, ?, ?, ?, ?)";
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (row.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * JSONB 컬럼에 문자열을 바인딩하는 방법은 DB 마다 다르다.
+     */
+    private static String jsonPlaceholder(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equals(product)) {
+                return "CAST(? AS jsonb)";
+            }
+            if ("H2".equals(product)) {
+                return "? FORMAT JSON";
+            }
+        } catch (Exception e) {
+            log.warn("Could not detect database product for api_log batch insert: {}", e.getMessage());
+        }
+        return "?";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * {@code COPY api_log (...) FROM STDIN} 으로 배치를 스트리밍하는 writer.
+ * 드라이버가 PostgreSQL 이 아니거나 서버가 COPY 를 지원하지 않으면 fallback writer 로 넘긴다.
+ */
+@Slf4j
+public class PgCopyApiLogWriter implements ApiLogWriter {
+
+    private static final String COPY_SQL = "COPY api_log (event_type, request_id, endpoint, payload, response, "
+            + "status_code, error_message, timestamp, retry_count, is_retry, retry_history, started_at, ended_at, "
+            + "first_byte_micros, duration_micros, body_id, payload_hash, response_hash) FROM STDIN WITH (FORMAT csv)";
+    private static final String FEATURE_NOT_SUPPORTED = "0A000";
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApiLogWriter fallback;
+    private volatile boolean copySupported = true;
+
+    public PgCopyApiLogWriter(DataSource dataSource, ObjectMapper objectMapper, ApiLogWriter fallback) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void write(List<ApiLogEntity> entities) {
+        if (!copySupported) {
+            fallback.write(entities);
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                disableCopy("JDBC driver is not PostgreSQL");
+                fallback.write(entities);
+                return;
+            }
+            copy(connection, entities);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY api_log", COPY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void copy(Connection connection, List<ApiLogEntity> entities) throws SQLException {
+        // COPY 실패는 트랜잭션 전체를 abort 시키므로, fallback 을 위해 savepoint 로 감싼다
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try {
+            streamRows(connection.unwrap(PGConnection.class), entities);
+        } catch (SQLException e) {
+            if (!FEATURE_NOT_SUPPORTED.equals(e.getSQLState())) {
+                throw e;
+            }
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            disableCopy(e.getMessage());
+            fallback.write(entities);
+            return;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+
+    private void streamRows(PGConnection connection, List<ApiLogEntity> entities) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+            for (ApiLogEntity entity : entities) {
+                appendRow(buffer, entity);
+                if (buffer.length() >= FLUSH_THRESHOLD) {
+                    writeToCopy(copyIn, buffer);
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void appendRow(StringBuilder row, ApiLogEntity entity) {
+        appendText(row, entity.getEventType());
+        row.append(',');
+        appendText(row, entity.getRequestId());
+        row.append(',');
+        appendText(row, entity.getEndpoint());
+        row.append(',');
+        appendText(row, toJson(entity.getPayload()));
+        row.append(',');
+        appendText(row, toJson(entity.getResponse()));
+        row.append(',');
+        appendValue(row, entity.getStatusCode());
+        row.append(',');
+        appendText(row, toJson(entity.getErrorMessage()));
+        row.append(',');
+        appendValue(row, entity.getTimestamp());
+        row.append(',');
+        appendValue(row, entity.getRetryCount());
+        row.append(',');
+        row.append(Boolean.TRUE.equals(entity.getIsRetry()) ? 't' : 'f');
+        row.append(',');
+        appendText(row, toJson(entity.getRetryHistory()));
+        row.append(',');
+        appendValue(row, entity.getStartedAt());
+        row.append(',');
+        appendValue(row, entity.getEndedAt());
+        row.append(',');
+        appendValue(row, entity.getFirstByteMicros());
+        row.append(',');
+        appendValue(row, entity.getDurationMicros());
+        row.append(',');
+        appendValue(row, entity.getBodyId());
+        row.append(',');
+        appendBytes(row, entity.getPayloadHash());
+        row.append(',');
+        appendBytes(row, entity.getResponseHash());
+        row.append('\n');
+    }
+
+    /**
+     * CSV 에서 따옴표 없는 빈 값은 NULL 이므로 문자열은 항상 따옴표로 감싼다.
+     */
+    private static void appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private static void appendValue(StringBuilder row, Object value) {
+        if (value != null) {
+            row.append(value);
+        }
+    }
+
+    /**
+     * bytea 의 hex 입력 형식. CSV 에서는 백슬래시를 이스케이프하지 않는다.
+     */
+    private static void appendBytes(StringBuilder row, byte[] value) {
+        if (value != null) {
+            row.append("\\x");
+            HEX.formatHex(row, value);
+        }
+    }
+
+    private String toJson(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize JSON column", e);
+        }
+    }
+
+    private void disableCopy(String reason) {
+        if (copySupported) {
+            copySupported = false;
+            log.warn("COPY is not available for api_log, falling back to batched INSERT: {}", reason);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.devs.lab.test.service;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SINGLE_RECORD 모드에서 호출이 끝날 때까지 requestId 별 재시도 이력을 보관한다.
+ * 완료 이벤트를 받지 못한 요청이 쌓이지 않도록 가장 오래된 항목부터 밀어낸다.
+ */
+class RetryHistoryBuffer {
+
+    private final Map<String, ArrayNode> pending;
+
+    RetryHistoryBuffer(int maxPendingRequests) {
+        this.pending = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArrayNode> eldest) {
+                return size() > maxPendingRequests;
+            }
+        };
+    }
+
+    /**
+     * 재시도 한 번을 기록한다. 이벤트가 든 batch 가 롤백돼 같은 이벤트가 다시 흡수될 수 있으므로
+     * (requestId, retryCount) 로 한 번만 남기고, 이력은 retryCount 순으로 유지한다.
+     */
+    void record(String requestId, int retryCount, String errorMessage, LocalDateTime timestamp) {
+        ObjectNode attempt = JsonNodeFactory.instance.objectNode();
+        attempt.put("retryCount", retryCount);
+        attempt.put("error", errorMessage);
+        attempt.put("timestamp", timestamp.toString());
+        synchronized (pending) {
+            ArrayNode history = pending.computeIfAbsent(requestId, id -> JsonNodeFactory.instance.arrayNode());
+            int index = 0;
+            while (index < history.size() && history.get(index).get("retryCount").asInt() < retryCount) {
+                index++;
+            }
+            if (index < history.size() && history.get(index).get("retryCount").asInt() == retryCount) {
+                return;
+            }
+            history.insert(index, attempt);
+        }
+    }
+
+    /**
+     * 요청의 재시도 이력 사본. 재시도가 없었으면 null. 최종 행 저장이 실패해 다시 만들 때도 같은 이력을 쓸 수 있도록
+     * 버퍼에서는 지우지 않는다.
+     */
+    ArrayNode get(String requestId) {
+        synchronized (pending) {
+            ArrayNode history = pending.get(requestId);
+            return history != null ? history.deepCopy() : null;
+        }
+    }
+
+    /**
+     * 최종 행이 저장된 요청의 재시도 이력을 버퍼에서 제거한다.
+     */
+    void complete(String requestId) {
+        synchronized (pending) {
+            pending.remove(requestId);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.devs.lab.test.spool;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * DB 에 쓰지 못한 API 로그를 로컬 디스크에 쌓아 두는 append-only spool.
+ * 메모리 매핑한 세그먼트 파일에 레코드를 이어 쓰고, 세그먼트가 차면 다음 파일로 넘어간다.
+ * 재생(replay) 위치는 checkpoint 파일에 남겨 재시작 후에도 저장되지 않은 레코드부터 다시 읽는다.
+ * DB 가 거부하는 레코드는 quarantine 하위 디렉터리의 별도 spool 로 옮겨 재생을 막지 않게 한다.
+ */
+@Slf4j
+public class ApiLogSpool implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("api-log-(\\d+)\\.spool");
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String QUARANTINE = "quarantine";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, SpoolSegment> segments = new TreeMap<>();
+    private final Object replayLock = new Object();
+    private final Object quarantineLock = new Object();
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong quarantinedCount = new AtomicLong();
+    private ApiLogSpool quarantine;
+    private SpoolSegment tail;
+    private volatile long checkpointSequence;
+    private volatile int checkpointPosition;
+
+    /**
+     * 디렉터리의 기존 세그먼트와 checkpoint 를 읽어 spool 을 연다.
+     * checkpoint 이전 세그먼트는 이미 저장된 것이므로 지운다.
+     */
+    public ApiLogSpool(Path directory, int segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        readCheckpoint();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                long sequence = Long.parseLong(matcher.group(1));
+                if (sequence < checkpointSequence) {
+                    Files.deleteIfExists(file);
+                } else {
+                    segments.put(sequence, SpoolSegment.open(file, sequence, segmentSize));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            tail = openSegment(checkpointSequence);
+        } else {
+            tail = segments.lastEntry().getValue();
+        }
+    }
+
+    /**
+     * 레코드를 spool 에 덧붙인다. 세그먼트 하나보다 큰 레코드는 담을 수 없어 false.
+     */
+    public boolean append(ApiLogEntity entity) {
+        byte[] record = SpoolRecordCodec.encode(entity);
+        if (SpoolSegment.HEADER_BYTES + record.length > segmentSize) {
+            log.error("API log record of {} bytes exceeds spool segment size {}", record.length, segmentSize);
+            return false;
+        }
+        synchronized (this) {
+            if (!tail.append(record)) {
+                rotate();
+                tail.append(record);
+            }
+        }
+        appendedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * checkpoint 부터 최대 max 개의 레코드를 읽어 sink 에 넘긴다. sink 가 예외 없이 끝나야
+     * checkpoint 를 옮기고 다 읽은 세그먼트를 지운다. 실패하면 다음 호출에서 같은 레코드를 다시 넘긴다.
+     *
+     * @return sink 에 넘긴 레코드 수
+     */
+    public int replay(int max, Consumer<List<ApiLogEntity>> sink) {
+        synchronized (replayLock) {
+            List<ApiLogEntity> batch = new ArrayList<>();
+            long sequence = checkpointSequence;
+            int position = checkpointPosition;
+            while (batch.size() < max) {
+                SpoolSegment segment;
+                boolean sealed;
+                synchronized (this) {
+                    Map.Entry<Long, SpoolSegment> entry = segments.ceilingEntry(sequence);
+                    if (entry == null) {
+                        break;
+                    }
+                    if (entry.getKey() != sequence) {
+                        sequence = entry.getKey();
+                        position = 0;
+                    }
+                    segment = entry.getValue();
+                    // tail 이 아니면 더 이상 쓰이지 않으므로, 읽기 실패는 세그먼트의 끝을 뜻한다.
+                    sealed = segment != tail;
+                }
+                byte[] record = segment.read(position);
+                if (record == null) {
+                    if (!sealed) {
+                        break;
+                    }
+                    sequence++;
+                    position = 0;
+                    continue;
+                }
+                position += SpoolSegment.HEADER_BYTES + record.length;
+                try {
+                    batch.add(SpoolRecordCodec.decode(record));
+                } catch (IOException e) {
+                    log.error("Skipping unreadable API log spool record in segment {}: {}", sequence, e.getMessage());
+                }
+            }
+            if (sequence == checkpointSequence && position == checkpointPosition) {
+                return 0;
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+            commit(sequence, position);
+            return batch.size();
+        }
+    }
+
+    /**
+     * 재생할 수 없는 레코드를 quarantine spool 에 옮긴다. quarantine 은 자동으로 재생하지 않으므로, 원인을 고친 뒤
+     * 그 디렉터리를 spool 로 열어 직접 재생한다.
+     */
+    public boolean quarantine(ApiLogEntity entity) {
+        synchronized (quarantineLock) {
+            if (quarantine == null) {
+                try {
+                    quarantine = new ApiLogSpool(directory.resolve(QUARANTINE), segmentSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (!quarantine.append(entity)) {
+                return false;
+            }
+            quarantine.force();
+        }
+        quarantinedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 아직 재생하지 않은 레코드가 있는지.
+     */
+    public boolean hasPending() {
+        synchronized (this) {
+            return checkpointSequence < tail.sequence() || checkpointPosition < tail.writePosition();
+        }
+    }
+
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    public long getQuarantinedCount() {
+        return quarantinedCount.get();
+    }
+
+    /**
+     * 현재 쓰고 있는 세그먼트를 디스크에 내린다. append 는 fsync 하지 않으므로 주기적으로 호출한다.
+     */
+    public void force() {
+        SpoolSegment current;
+        synchronized (this) {
+            current = tail;
+        }
+        current.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void rotate() {
+        tail.force();
+        tail = openSegment(tail.sequence() + 1);
+    }
+
+    private SpoolSegment openSegment(long sequence) {
+        try {
+            SpoolSegment segment = SpoolSegment.open(directory.resolve("api-log-" + sequence + ".spool"), sequence, segmentSize);
+            segments.put(sequence, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit(long sequence, int position) {
+        try {
+            Path temp = directory.resolve(CHECKPOINT + ".tmp");
+            Files.writeString(temp, sequence + ":" + position, StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        checkpointSequence = sequence;
+        checkpointPosition = position;
+        List<SpoolSegment> replayed;
+        synchronized (this) {
+            Map<Long, SpoolSegment> head = segments.headMap(sequence);
+            replayed = new ArrayList<>(head.values());
+            head.clear();
+        }
+        for (SpoolSegment segment : replayed) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete replayed API log spool segment {}: {}", segment.sequence(), e.getMessage());
+            }
+        }
+    }
+
+    private void readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return;
+        }
+        String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(":");
+        checkpointSequence = Long.parseLong(parts[0]);
+        checkpointPosition = Integer.parseInt(parts[1]);
+    }
+}
\ No newline at end of file
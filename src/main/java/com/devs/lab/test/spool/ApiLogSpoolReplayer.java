@@ -0,0 +1,155 @@
+package com.devs.lab.test.spool;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.service.ApiLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주기적으로 spool 을 디스크에 내리고, 쌓인 레코드를 replay-batch-size 단위로 api_log 에 다시 저장한다.
+ * 저장이 실패하면 checkpoint 를 옮기지 않고 다음 주기에 같은 레코드부터 다시 시도한다.
+ * 같은 checkpoint 에서 replay-max-failures 번 실패하면 다음 배치는 한 건씩 저장하고, DB 가 거부한 레코드는
+ * quarantine 으로 옮겨 재생이 한 레코드에 막히지 않게 한다.
+ */
+@Slf4j
+public class ApiLogSpoolReplayer implements SmartLifecycle {
+
+    private final ApiLogSpool spool;
+    private final ApiLogService apiLogService;
+    private final ApiLogProperties.Spool properties;
+    private int failures;
+    private int isolating;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ApiLogSpoolReplayer(ApiLogSpool spool, ApiLogService apiLogService, ApiLogProperties.Spool properties) {
+        this.spool = spool;
+        this.apiLogService = apiLogService;
+        this.properties = properties;
+    }
+
+    /**
+     * 밀린 레코드를 모두 저장하거나 저장이 실패할 때까지 재생한다.
+     *
+     * @return 저장한 레코드 수
+     */
+    public synchronized int replay() {
+        int total = 0;
+        try {
+            int replayed;
+            while ((replayed = replayOnce()) > 0) {
+                total += replayed;
+            }
+        } finally {
+            if (total > 0) {
+                log.info("Replayed {} spooled API log events into api_log", total);
+            }
+        }
+        return total;
+    }
+
+    private int replayOnce() {
+        try {
+            int replayed = isolating > 0
+                    ? spool.replay(1, this::saveOrQuarantine)
+                    : spool.replay(properties.getReplayBatchSize(), apiLogService::saveEntities);
+            failures = 0;
+            isolating = Math.max(0, isolating - replayed);
+            return replayed;
+        } catch (RuntimeException e) {
+            if (isolating == 0 && ++failures >= properties.getReplayMaxFailures()) {
+                log.warn("API log spool replay failed {} times at the same checkpoint; replaying the next {} records one by one",
+                        failures, properties.getReplayBatchSize());
+                isolating = properties.getReplayBatchSize();
+                failures = 0;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 한 건씩 저장하고, DB 에 닿지 못한 실패가 아니면 그 레코드를 quarantine 으로 옮긴다.
+     */
+    private void saveOrQuarantine(List<ApiLogEntity> entities) {
+        for (ApiLogEntity entity : entities) {
+            try {
+                apiLogService.saveEntities(List.of(entity));
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+                if (!spool.quarantine(entity)) {
+                    throw e;
+                }
+                log.error("Moved API log record {} rejected by the database to the spool quarantine: {}",
+                        entity.getRequestId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 연결이나 트랜잭션을 얻지 못한 일시적 실패인지. 이런 실패는 레코드 탓이 아니므로 격리하지 않는다.
+     */
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransactionException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ApiLogSpoolReplayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getReplayInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::replaySafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        spool.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 재시도 스케줄러가 멈추면서 spool 에 넘기는 이벤트를 받을 수 있도록 재시도 스케줄러보다 늦게 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2;
+    }
+
+    private void replaySafely() {
+        try {
+            spool.force();
+            if (spool.hasPending()) {
+                replay();
+            }
+        } catch (Exception e) {
+            log.warn("API log spool replay failed, will retry: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
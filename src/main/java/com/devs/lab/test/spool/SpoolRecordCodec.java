@@ -0,0 +1,173 @@
+package com.devs.lab.test.spool;
+
+import com.devs.lab.test.model.ApiLogBody;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * spool 레코드 본문과 {@link ApiLogEntity} 사이의 바이너리 변환. JSON 컬럼만 JSON 텍스트로 담는다.
+ * 나중에 추가된 필드는 레코드 끝에 붙이므로, 그 필드가 없는 이전 레코드도 읽을 수 있다.
+ */
+final class SpoolRecordCodec {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private SpoolRecordCodec() {
+    }
+
+    static byte[] encode(ApiLogEntity entity) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, entity.getEventType());
+            writeString(out, entity.getRequestId());
+            writeString(out, entity.getEndpoint());
+            writeJson(out, entity.getPayload());
+            writeJson(out, entity.getResponse());
+            writeInteger(out, entity.getStatusCode());
+            writeJson(out, entity.getErrorMessage());
+            writeTimestamp(out, entity.getTimestamp());
+            writeInteger(out, entity.getRetryCount());
+            out.writeByte(entity.getIsRetry() == null ? -1 : entity.getIsRetry() ? 1 : 0);
+            writeJson(out, entity.getRetryHistory());
+            writeTimestamp(out, entity.getStartedAt());
+            writeTimestamp(out, entity.getEndedAt());
+            writeLong(out, entity.getFirstByteMicros());
+            writeLong(out, entity.getDurationMicros());
+            writeString(out, entity.getBodyId() != null ? entity.getBodyId().toString() : null);
+            ApiLogBody body = entity.getColdBody();
+            writeString(out, body != null ? body.payload() : null);
+            writeString(out, body != null ? body.response() : null);
+            writeBytes(out, entity.getPayloadHash());
+            writeBytes(out, entity.getResponseHash());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ApiLogEntity decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            ApiLogEntity.ApiLogEntityBuilder builder = ApiLogEntity.builder()
+                    .eventType(readString(in))
+                    .requestId(readString(in))
+                    .endpoint(readString(in))
+                    .payload(readJson(in))
+                    .response(readJson(in))
+                    .statusCode(readInteger(in))
+                    .errorMessage(readJson(in));
+            builder.timestamp(readTimestamp(in))
+                    .retryCount(readInteger(in));
+            byte isRetry = in.readByte();
+            builder.isRetry(isRetry < 0 ? null : isRetry == 1)
+                    .retryHistory(readJson(in));
+            if (in.available() > 0) {
+                builder.startedAt(readTimestamp(in))
+                        .endedAt(readTimestamp(in))
+                        .firstByteMicros(readLong(in))
+                        .durationMicros(readLong(in));
+            }
+            if (in.available() > 0) {
+                String bodyId = readString(in);
+                String payload = readString(in);
+                String response = readString(in);
+                byte[] payloadHash = null;
+                byte[] responseHash = null;
+                if (in.available() > 0) {
+                    payloadHash = readBytes(in);
+                    responseHash = readBytes(in);
+                }
+                if (bodyId != null || payloadHash != null || responseHash != null) {
+                    builder.bodyId(bodyId != null ? UUID.fromString(bodyId) : null)
+                            .payloadHash(payloadHash)
+                            .responseHash(responseHash)
+                            .coldBody(new ApiLogBody(payload, response));
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : in.readNBytes(length);
+    }
+
+    private static void writeJson(DataOutputStream out, JsonNode value) throws IOException {
+        writeString(out, value != null ? JSON.writeValueAsString(value) : null);
+    }
+
+    private static JsonNode readJson(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value != null ? JSON.readTree(value) : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        writeString(out, value != null ? value.toString() : null);
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
\ No newline at end of file
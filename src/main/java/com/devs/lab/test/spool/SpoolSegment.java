@@ -0,0 +1,112 @@
+package com.devs.lab.test.spool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 고정 크기로 미리 매핑한 spool 세그먼트 파일. 레코드는 [길이(int)][CRC32(int)][본문] 순서로 이어 붙이고,
+ * 길이 0 이 나오면 기록된 데이터의 끝이다.
+ */
+final class SpoolSegment {
+
+    static final int HEADER_BYTES = 8;
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile int writePosition;
+
+    private SpoolSegment(long sequence, Path path, MappedByteBuffer buffer, int writePosition) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+    }
+
+    /**
+     * 세그먼트를 열거나 새로 만든다. 기존 파일이면 마지막 온전한 레코드 뒤를 쓰기 위치로 잡아
+     * 중간에 끊긴 쓰기는 버린다.
+     */
+    static SpoolSegment open(Path path, long sequence, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int size = (int) Math.max(capacity, channel.size());
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            SpoolSegment segment = new SpoolSegment(sequence, path, buffer, 0);
+            int position = 0;
+            byte[] payload;
+            while ((payload = segment.read(position, size)) != null) {
+                position += HEADER_BYTES + payload.length;
+            }
+            segment.writePosition = position;
+            return segment;
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    /**
+     * 레코드를 덧붙인다. 남은 공간이 부족하면 false.
+     */
+    synchronized boolean append(byte[] payload) {
+        int position = writePosition;
+        if (position + HEADER_BYTES + payload.length > buffer.capacity()) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + HEADER_BYTES);
+        view.put(payload);
+        view.putInt(position + 4, (int) crc.getValue());
+        // 길이를 마지막에 써서 본문이 다 기록되기 전의 레코드가 보이지 않게 한다.
+        view.putInt(position, payload.length);
+        writePosition = position + HEADER_BYTES + payload.length;
+        return true;
+    }
+
+    /**
+     * position 의 레코드 본문. 기록된 끝이거나 CRC 가 맞지 않으면 null.
+     */
+    byte[] read(int position) {
+        return read(position, writePosition);
+    }
+
+    private byte[] read(int position, int limit) {
+        if (position + HEADER_BYTES > limit) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_BYTES + length > limit) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        return payload;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.devs.lab.test.stats;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.util.EndpointPaths;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.devs.lab.test.Constants.ERROR;
+import static com.devs.lab.test.Constants.RETRY_ERROR;
+import static com.devs.lab.test.Constants.SUCCESS;
+
+/**
+ * 저장된 로그 행을 (분, 엔드포인트) 단위 카운터와 지연 히스토그램으로 메모리에 모았다가 주기적으로 api_log_stats 에
+ * 쓴다. 대시보드가 api_log 를 훑지 않고 롤업만 읽으면 된다.
+ * <ul>
+ *     <li>calls - SUCCESS, ERROR 행 수. errors - ERROR 행 수</li>
+ *     <li>retries - RETRY_ERROR 행 수와 SINGLE_RECORD 모드의 retry_history 항목 수</li>
+ *     <li>latency - SUCCESS, ERROR 행의 duration_micros 를 담은 HdrHistogram</li>
+ * </ul>
+ * 엔드포인트는 {@link EndpointPaths#template} 으로 바꿔 묶는다. flush 는 끝난 분만 쓰고, 종료할 때 나머지를 모두 쓴다.
+ */
+@Slf4j
+public class ApiLogStatsAggregator implements SmartLifecycle {
+
+    private static final int ENDPOINT_LENGTH = 255;
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final ApiLogStatsStore store;
+    private final ApiLogProperties.Stats properties;
+    private final ConcurrentHashMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private LocalDateTime lastPurge = LocalDateTime.MIN;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ApiLogStatsAggregator(ApiLogStatsStore store, ApiLogProperties.Stats properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /**
+     * 커밋된 행들을 반영한다. 버킷 수가 maxPendingBuckets 에 이르면 새 버킷은 만들지 않고 버린다.
+     */
+    public void record(List<ApiLogEntity> entities) {
+        for (ApiLogEntity entity : entities) {
+            String eventType = entity.getEventType();
+            boolean completed = SUCCESS.equals(eventType) || ERROR.equals(eventType);
+            if (!completed && !RETRY_ERROR.equals(eventType)) {
+                continue;
+            }
+            BucketKey key = new BucketKey(entity.getTimestamp().truncatedTo(ChronoUnit.MINUTES),
+                    endpoint(entity.getEndpoint()));
+            if (buckets.size() >= properties.getMaxPendingBuckets() && !buckets.containsKey(key)) {
+                droppedCount.incrementAndGet();
+                continue;
+            }
+            buckets.compute(key, (k, bucket) -> {
+                Bucket b = bucket != null ? bucket : new Bucket(properties.getSignificantDigits());
+                b.record(entity, completed);
+                return b;
+            });
+        }
+    }
+
+    /**
+     * 모든 버킷을 쓴다.
+     */
+    public void flush() {
+        flush(LocalDateTime.MAX);
+    }
+
+    /**
+     * before 이전에 시작한 버킷을 api_log_stats 에 쓴다. 실패하면 버킷을 다시 합쳐 두고 다음 flush 에서 재시도한다.
+     */
+    void flush(LocalDateTime before) {
+        Map<BucketKey, Bucket> flushing = new HashMap<>();
+        for (BucketKey key : new ArrayList<>(buckets.keySet())) {
+            if (key.minute().isBefore(before)) {
+                Bucket bucket = buckets.remove(key);
+                if (bucket != null) {
+                    flushing.put(key, bucket);
+                }
+            }
+        }
+        if (flushing.isEmpty()) {
+            return;
+        }
+        try {
+            store.insert(flushing);
+        } catch (Exception e) {
+            log.warn("api_log_stats flush failed, keeping {} buckets: {}", flushing.size(), e.getMessage());
+            flushing.forEach(this::restore);
+        }
+    }
+
+    private void restore(BucketKey key, Bucket bucket) {
+        if (buckets.size() >= properties.getMaxPendingBuckets() && !buckets.containsKey(key)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        buckets.merge(key, bucket, Bucket::add);
+    }
+
+    /**
+     * 보존 기간이 지난 롤업 행을 지운다. 한 시간에 한 번만 실행한다.
+     */
+    private void purge(LocalDateTime now) {
+        if (ChronoUnit.MINUTES.between(lastPurge, now) < PURGE_INTERVAL_MINUTES) {
+            return;
+        }
+        lastPurge = now;
+        int purged = store.purge(now.minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("api_log_stats maintenance: purged {} rows", purged);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ApiLogStatsAggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("api_log_stats final flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * write-behind 큐, 링 버퍼, spool 재생기가 멈추며 저장한 행까지 모은 뒤에 마지막 flush 를 하도록 그보다 늦게 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3;
+    }
+
+    private void flushSafely() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            flush(now.truncatedTo(ChronoUnit.MINUTES));
+            purge(now);
+        } catch (Exception e) {
+            log.error("api_log_stats flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String endpoint(String endpoint) {
+        String template = EndpointPaths.template(endpoint);
+        return template.length() > ENDPOINT_LENGTH ? template.substring(0, ENDPOINT_LENGTH) : template;
+    }
+
+    record BucketKey(LocalDateTime minute, String endpoint) {
+    }
+
+    /**
+     * {@link ConcurrentHashMap#compute} 안에서만 고치고, 맵에서 꺼낸 뒤에만 읽는다.
+     */
+    static final class Bucket {
+
+        long calls;
+        long errors;
+        long retries;
+        final Histogram latency;
+
+        Bucket(int significantDigits) {
+            this.latency = new Histogram(significantDigits);
+        }
+
+        void record(ApiLogEntity entity, boolean completed) {
+            if (!completed) {
+                retries++;
+                return;
+            }
+            calls++;
+            if (ERROR.equals(entity.getEventType())) {
+                errors++;
+            }
+            if (entity.getRetryHistory() != null) {
+                retries += entity.getRetryHistory().size();
+            }
+            if (entity.getDurationMicros() != null) {
+                latency.recordValue(Math.max(0, entity.getDurationMicros()));
+            }
+        }
+
+        Bucket add(Bucket other) {
+            calls += other.calls;
+            errors += other.errors;
+            retries += other.retries;
+            latency.add(other.latency);
+            return this;
+        }
+    }
+}
\ No newline at end of file
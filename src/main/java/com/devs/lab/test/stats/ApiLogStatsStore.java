@@ -0,0 +1,148 @@
+package com.devs.lab.test.stats;
+
+import com.devs.lab.test.model.dto.EndpointStats;
+import org.HdrHistogram.Histogram;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * api_log_stats 롤업 테이블. 한 번 flush 할 때마다 (분, 엔드포인트) 당 한 행을 추가만 하고, 같은 분의 행이 여러 개
+ * 있어도 조회할 때 카운터는 더하고 지연 히스토그램은 병합한다. 갱신 경합이 없어 여러 인스턴스가 같은 테이블에 쓸 수 있다.
+ */
+public class ApiLogStatsStore {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO api_log_stats (bucket, endpoint, calls, errors, retries, latency)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String SELECT_SQL = """
+            SELECT bucket, endpoint, calls, errors, retries, latency
+            FROM api_log_stats
+            WHERE bucket >= ? AND bucket < ?""";
+    private static final String PURGE_SQL = "DELETE FROM api_log_stats WHERE bucket < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApiLogStatsStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void insert(Map<ApiLogStatsAggregator.BucketKey, ApiLogStatsAggregator.Bucket> buckets) {
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> rows.add(new Object[]{
+                Timestamp.valueOf(key.minute()),
+                key.endpoint(),
+                bucket.calls,
+                bucket.errors,
+                bucket.retries,
+                bucket.latency.getTotalCount() == 0 ? null : encode(bucket.latency)
+        }));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    int purge(LocalDateTime before) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(before));
+    }
+
+    /**
+     * [from, to) 구간의 엔드포인트별 통계. 호출 수가 많은 순.
+     */
+    public List<EndpointStats> summarize(LocalDateTime from, LocalDateTime to) {
+        Map<String, Merged> merged = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            merged.computeIfAbsent(rs.getString(2), endpoint -> new Merged())
+                    .add(rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getBytes(6));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        List<EndpointStats> stats = new ArrayList<>(merged.size());
+        merged.forEach((endpoint, m) -> stats.add(m.toStats(endpoint, from, to)));
+        stats.sort((a, b) -> Long.compare(b.calls(), a.calls()));
+        return stats;
+    }
+
+    /**
+     * 한 엔드포인트의 [from, to) 구간을 step 단위로 나눈 시계열. 행이 없는 구간은 빠진다.
+     *
+     * @param endpoint {@link com.devs.lab.test.util.EndpointPaths#template} 으로 바꾼 경로
+     * @param step     1분 이상, 분 단위
+     */
+    public List<EndpointStats> series(String endpoint, LocalDateTime from, LocalDateTime to, Duration step) {
+        long stepMinutes = step.toMinutes();
+        if (stepMinutes < 1) {
+            throw new IllegalArgumentException("step must be at least one minute: " + step);
+        }
+        Map<LocalDateTime, Merged> merged = new TreeMap<>();
+        jdbcTemplate.query(SELECT_SQL + " AND endpoint = ?", rs -> {
+            LocalDateTime bucket = rs.getTimestamp(1).toLocalDateTime();
+            long offset = ChronoUnit.MINUTES.between(from, bucket) / stepMinutes * stepMinutes;
+            merged.computeIfAbsent(from.plusMinutes(offset), start -> new Merged())
+                    .add(rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getBytes(6));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to), endpoint);
+        List<EndpointStats> stats = new ArrayList<>(merged.size());
+        merged.forEach((start, m) -> {
+            LocalDateTime end = start.plus(step);
+            stats.add(m.toStats(endpoint, start, end.isAfter(to) ? to : end));
+        });
+        return stats;
+    }
+
+    static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] bytes = new byte[length];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    static Histogram decode(byte[] bytes) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt api_log_stats latency histogram", e);
+        }
+    }
+
+    private static final class Merged {
+
+        private long calls;
+        private long errors;
+        private long retries;
+        @Nullable
+        private Histogram latency;
+
+        void add(long calls, long errors, long retries, @Nullable byte[] latency) {
+            this.calls += calls;
+            this.errors += errors;
+            this.retries += retries;
+            if (latency == null) {
+                return;
+            }
+            Histogram histogram = decode(latency);
+            if (this.latency == null) {
+                // 행마다 값 범위가 달라도 합칠 수 있도록 자동 확장 히스토그램에 모은다
+                this.latency = new Histogram(histogram.getNumberOfSignificantValueDigits());
+            }
+            this.latency.add(histogram);
+        }
+
+        EndpointStats toStats(String endpoint, LocalDateTime from, LocalDateTime to) {
+            if (latency == null) {
+                return new EndpointStats(endpoint, from, to, calls, errors, retries, null, null, null, null);
+            }
+            return new EndpointStats(endpoint, from, to, calls, errors, retries,
+                    latency.getValueAtPercentile(50), latency.getValueAtPercentile(95),
+                    latency.getValueAtPercentile(99), latency.getMaxValue());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.devs.lab.test.util;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 동시 호출 수를 제한해 느린 업스트림 하나가 실행 스레드를 모두 점유하지 못하게 한다.
+ * 패턴(Ant 스타일, 요청 경로 기준)마다 세마포어 하나를 두고, 어느 패턴에도 걸리지 않는 호출은
+ * 호스트 단위 기본 한도를 따른다. 한도 0 은 제한 없음.
+ */
+public class ApiCallBulkhead {
+
+    private static final Permit NO_OP = () -> {
+    };
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Semaphore> endpointLimits = new LinkedHashMap<>();
+    private final Map<String, Semaphore> hostLimits = new ConcurrentHashMap<>();
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+
+    public ApiCallBulkhead(int maxConcurrentCalls, Map<String, Integer> endpoints, Duration maxWait) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        endpoints.forEach((pattern, limit) ->
+                endpointLimits.put(pattern, limit > 0 ? new Semaphore(limit) : null));
+    }
+
+    public static ApiCallBulkhead unbounded() {
+        return new ApiCallBulkhead(0, Map.of(), Duration.ZERO);
+    }
+
+    /**
+     * 호출 슬롯을 얻는다. 한도를 넘으면 {@link RejectedExecutionException}.
+     * maxWait 가 있으면 호출한 스레드가 그동안 블로킹된다. 비동기 경로는 {@link #acquireAsync(String)} 를 쓴다.
+     * 반환된 Permit 은 호출이 끝난 뒤 반드시 닫아야 한다.
+     */
+    public Permit acquire(String endpoint) {
+        Semaphore semaphore = resolve(endpoint);
+        if (semaphore == null) {
+            return NO_OP;
+        }
+        boolean acquired;
+        try {
+            acquired = maxWaitNanos > 0
+                    ? semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)
+                    : semaphore.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw rejected(endpoint);
+        }
+        return semaphore::release;
+    }
+
+    /**
+     * 호출한 스레드를 막지 않고 슬롯을 얻는다. 바로 얻지 못하면 maxWait 동안의 대기는
+     * Virtual Thread 가 대신하고, 한도를 넘으면 {@link RejectedExecutionException} 으로 실패한 future 를 돌려준다.
+     */
+    public CompletableFuture<Permit> acquireAsync(String endpoint) {
+        Semaphore semaphore = resolve(endpoint);
+        if (semaphore == null) {
+            return CompletableFuture.completedFuture(NO_OP);
+        }
+        if (semaphore.tryAcquire()) {
+            return CompletableFuture.completedFuture(semaphore::release);
+        }
+        if (maxWaitNanos <= 0) {
+            return CompletableFuture.failedFuture(rejected(endpoint));
+        }
+        CompletableFuture<Permit> result = new CompletableFuture<>();
+        Thread.ofVirtual().name("ApiCallBulkhead-wait").start(() -> {
+            try {
+                if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    result.completeExceptionally(rejected(endpoint));
+                } else if (!result.complete(semaphore::release)) {
+                    // 기다리는 사이 취소된 경우 받은 슬롯을 돌려준다
+                    semaphore.release();
+                }
+            } catch (InterruptedException e) {
+                result.completeExceptionally(rejected(endpoint));
+            }
+        });
+        return result;
+    }
+
+    private static RejectedExecutionException rejected(String endpoint) {
+        return new RejectedExecutionException("Bulkhead limit reached for endpoint: " + endpoint);
+    }
+
+    private Semaphore resolve(String endpoint) {
+        String path = EndpointPaths.path(endpoint);
+        for (Map.Entry<String, Semaphore> entry : endpointLimits.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        if (maxConcurrentCalls <= 0) {
+            return null;
+        }
+        return hostLimits.computeIfAbsent(EndpointPaths.host(endpoint), h -> new Semaphore(maxConcurrentCalls));
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
\ No newline at end of file
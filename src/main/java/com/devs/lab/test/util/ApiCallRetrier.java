@@ -0,0 +1,147 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 외부 호출 실패를 다시 시도할지, 얼마 뒤에 시도할지 정한다. 엔드포인트 패턴(Ant 스타일, 요청 경로 기준)마다
+ * 재시도 정책과 재시도 예산을 따로 두고, 어느 패턴에도 걸리지 않는 호출은 기본 정책을 따른다.
+ * 예산은 초당 시작된 호출 수의 budget-ratio 만큼만 재시도를 허용해 장애 시 재시도 폭주를 막는다.
+ */
+public class ApiCallRetrier {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Budgeted> endpointPolicies = new LinkedHashMap<>();
+    private final Budgeted defaultPolicy;
+
+    public ApiCallRetrier(RestClientProperties.Retry properties) {
+        this.defaultPolicy = new Budgeted(properties, properties);
+        properties.getEndpoints().forEach((pattern, policy) ->
+                endpointPolicies.put(pattern, new Budgeted(policy, properties)));
+    }
+
+    public static ApiCallRetrier none() {
+        return new ApiCallRetrier(new RestClientProperties.Retry());
+    }
+
+    /**
+     * 새 호출이 시작됐음을 예산에 반영한다. 재시도가 아닌 첫 시도마다 한 번 호출한다.
+     */
+    public void onCall(String endpoint) {
+        Budgeted policy = resolve(endpoint);
+        if (policy.policy.getMaxAttempts() > 1) {
+            policy.budget.onCall();
+        }
+    }
+
+    /**
+     * retryCount 번째 재시도까지 기다릴 시간. 재시도할 수 없는 오류이거나 시도 횟수 또는 예산을
+     * 다 썼으면 null.
+     *
+     * @param retryCount 이번에 하려는 재시도 번호 (1부터)
+     */
+    public Duration nextDelay(String endpoint, int retryCount, Throwable error) {
+        Budgeted resolved = resolve(endpoint);
+        RestClientProperties.Policy policy = resolved.policy;
+        if (retryCount >= policy.getMaxAttempts() || !isRetryable(policy, error) || !resolved.budget.tryAcquire()) {
+            return null;
+        }
+        double delay = policy.getInitialBackoff().toNanos() * Math.pow(policy.getMultiplier(), retryCount - 1);
+        delay = Math.min(delay, policy.getMaxBackoff().toNanos());
+        double jitter = policy.getJitter();
+        if (jitter > 0) {
+            delay *= 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        }
+        return Duration.ofNanos((long) delay);
+    }
+
+    /**
+     * 응답 상태가 statuses 에 있거나 연결/읽기 중 I/O 오류면 재시도 대상. 응답 본문 역직렬화 실패는 제외한다.
+     */
+    private static boolean isRetryable(RestClientProperties.Policy policy, Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response) {
+                return policy.getStatuses().contains(response.getStatusCode().value());
+            }
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Budgeted resolve(String endpoint) {
+        if (endpointPolicies.isEmpty()) {
+            return defaultPolicy;
+        }
+        String path = EndpointPaths.path(endpoint);
+        for (Map.Entry<String, Budgeted> entry : endpointPolicies.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultPolicy;
+    }
+
+    private static final class Budgeted {
+        private final RestClientProperties.Policy policy;
+        private final RetryBudget budget;
+
+        private Budgeted(RestClientProperties.Policy policy, RestClientProperties.Retry properties) {
+            this.policy = policy;
+            this.budget = new RetryBudget(properties.getBudgetRatio(), properties.getMinRetriesPerSecond());
+        }
+    }
+
+    /**
+     * 1초 단위 창에서 min-retries-per-second 와 (창 안의 호출 수 * ratio) 중 큰 값만큼 재시도를 허용한다.
+     */
+    private static final class RetryBudget {
+        private static final long WINDOW_NANOS = 1_000_000_000L;
+
+        private final double ratio;
+        private final int minPerSecond;
+        private long windowStart = System.nanoTime();
+        private int calls;
+        private int retries;
+
+        private RetryBudget(double ratio, int minPerSecond) {
+            this.ratio = ratio;
+            this.minPerSecond = minPerSecond;
+        }
+
+        synchronized void onCall() {
+            roll();
+            calls++;
+        }
+
+        synchronized boolean tryAcquire() {
+            roll();
+            if (retries >= Math.max(minPerSecond, (int) (calls * ratio))) {
+                return false;
+            }
+            retries++;
+            return true;
+        }
+
+        private void roll() {
+            long now = System.nanoTime();
+            if (now - windowStart >= WINDOW_NANOS) {
+                windowStart = now;
+                calls = 0;
+                retries = 0;
+            }
+        }
+    }
+}
\ No newline at end of file
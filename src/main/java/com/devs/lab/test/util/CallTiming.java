@@ -0,0 +1,69 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.model.dto.ApiCallTiming;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 호출 한 번의 시작 시각과 마지막 시도의 첫 바이트 시각.
+ * 시도가 도는 동안 현재 스레드에 걸어 두어 {@link ResponseTimingInterceptor} 가 첫 바이트 시각을 남길 수 있게 한다.
+ */
+final class CallTiming {
+
+    private static final ThreadLocal<CallTiming> CURRENT = new ThreadLocal<>();
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private volatile long firstByteNanos = UNKNOWN;
+
+    static CallTiming start() {
+        return new CallTiming();
+    }
+
+    /**
+     * 현재 스레드에서 진행 중인 시도의 측정 대상. 없으면 null.
+     */
+    static CallTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 시도 한 번을 현재 스레드에 이 측정 대상을 걸어 둔 채로 수행한다.
+     */
+    <R> R attempt(Supplier<R> call) {
+        CallTiming previous = CURRENT.get();
+        CURRENT.set(this);
+        firstByteNanos = UNKNOWN;
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    void markFirstByte() {
+        firstByteNanos = System.nanoTime();
+    }
+
+    /**
+     * 지금까지의 측정값. 이벤트를 발행하는 시점을 시도의 끝으로 본다.
+     */
+    ApiCallTiming snapshot() {
+        long firstByte = firstByteNanos;
+        return ApiCallTiming.builder()
+                .startedAt(startedAt)
+                .firstByteMicros(firstByte == UNKNOWN ? null : micros(firstByte - startNanos))
+                .durationMicros(micros(System.nanoTime() - startNanos))
+                .build();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
\ No newline at end of file
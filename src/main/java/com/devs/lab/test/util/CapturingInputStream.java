@@ -0,0 +1,94 @@
+package com.devs.lab.test.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 읽은 바이트 중 앞부분 최대 maxBytes 만 복사해 두는 입력 스트림.
+ * 응답을 역직렬화하면서 로그용 본문을 함께 남길 때 사용한다.
+ */
+class CapturingInputStream extends FilterInputStream {
+
+    private final byte[] capture;
+    private int captured;
+    private boolean truncated;
+
+    CapturingInputStream(InputStream in, int maxBytes) {
+        super(in);
+        this.capture = new byte[Math.max(0, maxBytes)];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            copy(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            copy(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // 건너뛴 구간이 로그에서 빠지지 않도록 읽어서 버린다.
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        int read = read(buffer, 0, buffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 지금까지 복사된 본문. 한도를 넘었으면 잘린 앞부분만 담기고, 한도에 걸려 잘린 마지막 UTF-8 문자는 뺀다.
+     */
+    String captured() {
+        int length = truncated ? completeUtf8Length(capture, captured) : captured;
+        return new String(Arrays.copyOf(capture, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 마지막 문자가 끝까지 들어 있지 않으면 그 문자의 시작 위치, 아니면 length.
+     */
+    private static int completeUtf8Length(byte[] bytes, int length) {
+        int start = length - 1;
+        while (start >= 0 && start > length - 4 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return length;
+        }
+        int lead = bytes[start] & 0xFF;
+        int expected = lead < 0x80 ? 1 : lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return length - start < expected ? start : length;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    private void copy(byte[] b, int off, int len) {
+        int room = capture.length - captured;
+        if (len > room) {
+            truncated = true;
+        }
+        int n = Math.min(len, room);
+        if (n > 0) {
+            System.arraycopy(b, off, capture, captured, n);
+            captured += n;
+        }
+    }
+}
\ No newline at end of file
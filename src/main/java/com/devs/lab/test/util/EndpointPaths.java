@@ -0,0 +1,65 @@
+package com.devs.lab.test.util;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * 절대 URL 또는 상대 경로로 주어진 엔드포인트에서 패턴 매칭이나 메트릭 태그에 쓸 경로와 호스트를 꺼낸다.
+ */
+public final class EndpointPaths {
+
+    private static final Pattern IDENTIFIER = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}");
+
+    private EndpointPaths() {
+    }
+
+    /**
+     * 쿼리 문자열을 제외한 요청 경로.
+     */
+    public static String path(String endpoint) {
+        if (endpoint == null) {
+            return "";
+        }
+        URI uri = parse(endpoint);
+        if (uri != null && uri.getRawPath() != null) {
+            return uri.getRawPath();
+        }
+        int query = endpoint.indexOf('?');
+        return query < 0 ? endpoint : endpoint.substring(0, query);
+    }
+
+    /**
+     * 메트릭 태그용 경로. 숫자, UUID, 긴 16진수처럼 식별자로 보이는 세그먼트를 {id} 로 바꿔 태그 수가
+     * 요청마다 늘어나지 않게 한다.
+     */
+    public static String template(String endpoint) {
+        String path = path(endpoint);
+        if (path.isEmpty()) {
+            return "/";
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (IDENTIFIER.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * 절대 URL 의 host[:port]. 상대 경로면 빈 문자열.
+     */
+    public static String host(String endpoint) {
+        URI uri = endpoint == null ? null : parse(endpoint);
+        return uri != null && uri.getRawAuthority() != null ? uri.getRawAuthority() : "";
+    }
+
+    private static URI parse(String endpoint) {
+        try {
+            return URI.create(endpoint);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
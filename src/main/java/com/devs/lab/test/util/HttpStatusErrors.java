@@ -0,0 +1,28 @@
+package com.devs.lab.test.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestClient.retrieve() 와 같은 예외 타입으로 오류 응답을 변환한다.
+ */
+final class HttpStatusErrors {
+
+    private HttpStatusErrors() {
+    }
+
+    static RuntimeException create(HttpStatusCode status, String statusText, HttpHeaders headers, byte[] body) {
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            return HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(status.value(), statusText, headers, body, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
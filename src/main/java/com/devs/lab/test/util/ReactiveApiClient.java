@@ -0,0 +1,181 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link RestApiClientUtil} 의 논블로킹 버전. JDK HttpClient 의 sendAsync 위에서 동작하므로
+ * 응답을 기다리는 동안 호출당 스레드를 점유하지 않는다. 동일한 호출 수명주기 이벤트를 발행한다.
+ */
+@Component
+public class ReactiveApiClient implements DisposableBean {
+    private final HttpClient httpClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ApiCallBulkhead bulkhead;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    // 직접 만든 HttpClient 만 destroy 에서 닫는다
+    private final boolean ownsHttpClient;
+
+    @Autowired
+    public ReactiveApiClient(RestClientProperties properties, ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper, ApiCallBulkhead bulkhead) {
+        this(HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
+                        .version(properties.getPool().isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                        .build(),
+                properties.getBaseUrl(), Duration.ofMillis(properties.getReadTimeout()),
+                eventPublisher, objectMapper, bulkhead, true);
+    }
+
+    public ReactiveApiClient(HttpClient httpClient, String baseUrl, Duration readTimeout,
+                             ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                             ApiCallBulkhead bulkhead) {
+        this(httpClient, baseUrl, readTimeout, eventPublisher, objectMapper, bulkhead, false);
+    }
+
+    private ReactiveApiClient(HttpClient httpClient, String baseUrl, Duration readTimeout,
+                              ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                              ApiCallBulkhead bulkhead, boolean ownsHttpClient) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl == null ? "" : baseUrl;
+        this.readTimeout = readTimeout;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.bulkhead = bulkhead;
+        this.ownsHttpClient = ownsHttpClient;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownsHttpClient) {
+            httpClient.close();
+        }
+    }
+
+    public CompletableFuture<ApiResponse> postAsync(String endpoint, String payload) {
+        ApiRequest request = ApiRequest.builder()
+                .endpoint(endpoint)
+                .payload(payload)
+                .build();
+        HttpRequest httpRequest = requestBuilder(endpoint)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        return exchange(request, httpRequest);
+    }
+
+    public <T> CompletableFuture<ApiResponse> postAsync(String endpoint, T requestBody) {
+        return postAsync(endpoint, serialize(requestBody));
+    }
+
+    public CompletableFuture<ApiResponse> getAsync(String endpoint) {
+        ApiRequest request = ApiRequest.builder()
+                .endpoint(endpoint)
+                .build();
+        return exchange(request, requestBuilder(endpoint).GET().build());
+    }
+
+    public <T> CompletableFuture<T> postAsyncTyped(String endpoint, Object requestBody, Class<T> responseType) {
+        return postAsync(endpoint, serialize(requestBody))
+                .thenApply(response -> deserialize(response, responseType));
+    }
+
+    public <T> CompletableFuture<T> getAsyncTyped(String endpoint, Class<T> responseType) {
+        return getAsync(endpoint)
+                .thenApply(response -> deserialize(response, responseType));
+    }
+
+    private CompletableFuture<ApiResponse> exchange(ApiRequest request, HttpRequest httpRequest) {
+        eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
+        CallTiming timing = CallTiming.start();
+
+        // 상태 줄과 헤더를 받은 시점에 본문 핸들러가 만들어지므로 그 때를 첫 바이트로 본다
+        HttpResponse.BodyHandler<String> bodyHandler = info -> {
+            timing.markFirstByte();
+            return HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+        };
+        return bulkhead.acquireAsync(request.getEndpoint())
+                .thenCompose(permit -> httpClient.sendAsync(httpRequest, bodyHandler)
+                        .whenComplete((httpResponse, error) -> permit.close()))
+                .handle((httpResponse, error) -> {
+                    if (error == null) {
+                        error = statusError(httpResponse);
+                    }
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        eventPublisher.publishEvent(
+                                new ApiCallErrorEvent(this, request, cause, 0, false, timing.snapshot()));
+                        throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+                    }
+                    ApiResponse response = ApiResponse.builder()
+                            .data(httpResponse.body())
+                            .statusCode(httpResponse.statusCode())
+                            .build();
+                    eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response, timing.snapshot()));
+                    return response;
+                });
+    }
+
+    private HttpRequest.Builder requestBuilder(String endpoint) {
+        return HttpRequest.newBuilder(resolve(endpoint))
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private URI resolve(String endpoint) {
+        URI uri = URI.create(endpoint);
+        return uri.isAbsolute() || baseUrl.isEmpty() ? uri : URI.create(baseUrl + endpoint);
+    }
+
+    private static RuntimeException statusError(HttpResponse<String> httpResponse) {
+        HttpStatusCode status = HttpStatusCode.valueOf(httpResponse.statusCode());
+        if (!status.isError()) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        httpResponse.headers().map().forEach(headers::addAll);
+        byte[] body = httpResponse.body() == null ? null : httpResponse.body().getBytes(StandardCharsets.UTF_8);
+        return HttpStatusErrors.create(status, "", headers, body);
+    }
+
+    private String serialize(Object requestBody) {
+        try {
+            return objectMapper.writeValueAsString(requestBody);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize request body", e);
+        }
+    }
+
+    private <T> T deserialize(ApiResponse response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response.getData(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
\ No newline at end of file
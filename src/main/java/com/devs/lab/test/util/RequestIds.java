@@ -0,0 +1,34 @@
+package com.devs.lab.test.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 ID 생성기. RFC 9562 UUIDv7 (앞 48비트가 epoch millis) 을 만든다.
+ * <p>
+ * {@link UUID#randomUUID()} 는 공유 SecureRandom 을 쓰므로 호출이 몰리면 경합이 생긴다. 요청 ID 는 추측
+ * 불가능할 필요가 없으므로 스레드별 {@link ThreadLocalRandom} 을 쓰고, 시간 순으로 정렬되어 인덱스 지역성도 좋다.
+ */
+public final class RequestIds {
+
+    private RequestIds() {
+    }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * 문자열로 바꾸지 않은 UUIDv7. UUID 컬럼 키로 쓴다.
+     */
+    public static UUID nextUuid() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (epochMillis << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.devs.lab.test.util;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * 응답 상태 줄과 헤더를 받은 시각을 {@link RestApiClientUtil} 의 현재 시도에 첫 바이트 시각으로 남긴다.
+ * 요청 팩토리에 따라 execute 가 응답을 읽기 전에 돌아오기도 하므로 상태 코드를 먼저 읽는다.
+ * RestApiClientUtil 밖의 호출에서는 아무 일도 하지 않는다.
+ */
+public class ResponseTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        CallTiming timing = CallTiming.current();
+        if (timing != null) {
+            response.getStatusCode();
+            timing.markFirstByte();
+        }
+        return response;
+    }
+}
\ No newline at end of file
@@ -1,29 +1,56 @@
 package com.devs.lab.test.util;
 
+import com.devs.lab.test.config.RestClientProperties;
 import com.devs.lab.test.event.ApiCallErrorEvent;
 import com.devs.lab.test.event.ApiCallInitiatedEvent;
 import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.devs.lab.test.model.dto.ApiCallTiming;
 import com.devs.lab.test.model.dto.ApiRequest;
 import com.devs.lab.test.model.dto.ApiResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Component
 public class RestApiClientUtil {
     private final RestClient restClient;
     private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
-
-    public RestApiClientUtil(RestClient restClient, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
+    private final Executor executor;
+    private final ApiCallBulkhead bulkhead;
+    private final ApiCallRetrier retrier;
+    private final ApiClientMetrics metrics;
+    private final RestClientProperties.Streaming streaming;
+
+    public RestApiClientUtil(RestClient restClient, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                             @Qualifier("apiClientExecutor") Executor executor, ApiCallBulkhead bulkhead,
+                             ApiCallRetrier retrier, ApiClientMetrics metrics, RestClientProperties properties) {
         this.restClient = restClient;
         this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.bulkhead = bulkhead;
+        this.retrier = retrier;
+        this.metrics = metrics;
+        this.streaming = properties.getStreaming();
     }
 
     public CompletableFuture<ApiResponse> postAsync(String endpoint, String payload) {
@@ -33,23 +60,13 @@ public class RestApiClientUtil {
                 .build();
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String responseData = restClient.post()
-                        .uri(endpoint)
-                        .body(payload)
-                        .retrieve()
-                        .body(String.class);
-                ApiResponse response = ApiResponse.builder()
-                        .data(responseData)
-                        .statusCode(200)
-                        .build();
-                eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-                return response;
-            } catch (Exception e) {
-                eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-                throw e;
-            }
+        return callAsync(HttpMethod.POST, request, () -> {
+            String responseData = restClient.post()
+                    .uri(endpoint)
+                    .body(payload)
+                    .retrieve()
+                    .body(String.class);
+            return publishSuccess(request, responseData, 200);
         });
     }
 
@@ -60,22 +77,14 @@ public class RestApiClientUtil {
                 .build();
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-        try {
+        return callSync(HttpMethod.POST, request, () -> {
             String responseData = restClient.post()
                     .uri(endpoint)
                     .body(payload)
                     .retrieve()
                     .body(String.class);
-            ApiResponse response = ApiResponse.builder()
-                    .data(responseData)
-                    .statusCode(200)
-                    .build();
-            eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-            return response;
-        } catch (Exception e) {
-            eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-            throw e;
-        }
+            return publishSuccess(request, responseData, 200);
+        });
     }
 
     public CompletableFuture<ApiResponse> getAsync(String endpoint) {
@@ -84,22 +93,12 @@ public class RestApiClientUtil {
                 .build();
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String responseData = restClient.get()
-                        .uri(endpoint)
-                        .retrieve()
-                        .body(String.class);
-                ApiResponse response = ApiResponse.builder()
-                        .data(responseData)
-                        .statusCode(200)
-                        .build();
-                eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-                return response;
-            } catch (Exception e) {
-                eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-                throw e;
-            }
+        return callAsync(HttpMethod.GET, request, () -> {
+            String responseData = restClient.get()
+                    .uri(endpoint)
+                    .retrieve()
+                    .body(String.class);
+            return publishSuccess(request, responseData, 200);
         });
     }
 
@@ -109,21 +108,13 @@ public class RestApiClientUtil {
                 .build();
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-        try {
+        return callSync(HttpMethod.GET, request, () -> {
             String responseData = restClient.get()
                     .uri(endpoint)
                     .retrieve()
                     .body(String.class);
-            ApiResponse response = ApiResponse.builder()
-                    .data(responseData)
-                    .statusCode(200)
-                    .build();
-            eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-            return response;
-        } catch (Exception e) {
-            eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-            throw e;
-        }
+            return publishSuccess(request, responseData, 200);
+        });
     }
 
     // ====== 제네릭 메서드들 (DTO 객체 지원) ======
@@ -155,64 +146,36 @@ public class RestApiClientUtil {
                     .build();
             eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-            return CompletableFuture.supplyAsync(() -> {
-                try {
-                    ResponseEntity<String> responseEntity = restClient.post()
-                            .uri(endpoint)
-                            .body(jsonPayload)
-                            .retrieve()
-                            .toEntity(String.class);
-
-                    T responseBody = objectMapper.readValue(responseEntity.getBody(), responseType);
-
-                    ApiResponse response = ApiResponse.builder()
-                            .data(responseEntity.getBody())
-                            .statusCode(responseEntity.getStatusCode().value())
-                            .build();
-                    eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-
-                    return responseBody;
-                } catch (Exception e) {
-                    eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-                    throw new RuntimeException(e);
-                }
-            });
+            return wrapFailure(callAsync(HttpMethod.POST, request,
+                    () -> readTyped(restClient.post().uri(endpoint).body(jsonPayload), request, responseType)));
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to serialize request body", e);
         }
     }
 
     public <T> T postSyncTyped(String endpoint, Object requestBody, Class<T> responseType) {
+        String jsonPayload;
         try {
-            String jsonPayload = objectMapper.writeValueAsString(requestBody);
-            ApiRequest request = ApiRequest.builder()
-                    .endpoint(endpoint)
-                    .payload(jsonPayload)
-                    .build();
-            eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
-
-            ResponseEntity<String> responseEntity = restClient.post()
-                    .uri(endpoint)
-                    .body(jsonPayload)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            T responseBody = objectMapper.readValue(responseEntity.getBody(), responseType);
-
-            ApiResponse response = ApiResponse.builder()
-                    .data(responseEntity.getBody())
-                    .statusCode(responseEntity.getStatusCode().value())
-                    .build();
-            eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-
-            return responseBody;
-        } catch (Exception e) {
+            jsonPayload = objectMapper.writeValueAsString(requestBody);
+        } catch (JsonProcessingException e) {
             ApiRequest request = ApiRequest.builder()
                     .endpoint(endpoint)
                     .build();
             eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
             throw new RuntimeException(e);
         }
+        ApiRequest request = ApiRequest.builder()
+                .endpoint(endpoint)
+                .payload(jsonPayload)
+                .build();
+        eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
+
+        try {
+            return callSync(HttpMethod.POST, request,
+                    () -> readTyped(restClient.post().uri(endpoint).body(jsonPayload), request, responseType));
+        } catch (RuntimeException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public <T> CompletableFuture<T> getAsyncTyped(String endpoint, Class<T> responseType) {
@@ -221,26 +184,18 @@ public class RestApiClientUtil {
                 .build();
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<String> responseEntity = restClient.get()
-                        .uri(endpoint)
-                        .retrieve()
-                        .toEntity(String.class);
-
-                T responseBody = objectMapper.readValue(responseEntity.getBody(), responseType);
-
-                ApiResponse response = ApiResponse.builder()
-                        .data(responseEntity.getBody())
-                        .statusCode(responseEntity.getStatusCode().value())
-                        .build();
-                eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
-
-                return responseBody;
-            } catch (Exception e) {
-                eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-                throw new RuntimeException(e);
-            }
+        return wrapFailure(callAsync(HttpMethod.GET, request,
+                () -> readTyped(restClient.get().uri(endpoint), request, responseType)));
+    }
+
+    /**
+     * 타입 비동기 호출은 동기 버전처럼 실패 원인을 RuntimeException 으로 감싸서 돌려준다.
+     */
+    private static <T> CompletableFuture<T> wrapFailure(CompletableFuture<T> future) {
+        return future.exceptionallyCompose(failure -> {
+            Throwable error = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            return CompletableFuture.failedFuture(new RuntimeException(error));
         });
     }
 
@@ -251,23 +206,157 @@ public class RestApiClientUtil {
         eventPublisher.publishEvent(new ApiCallInitiatedEvent(this, request));
 
         try {
-            ResponseEntity<String> responseEntity = restClient.get()
-                    .uri(endpoint)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            T responseBody = objectMapper.readValue(responseEntity.getBody(), responseType);
+            return callSync(HttpMethod.GET, request,
+                    () -> readTyped(restClient.get().uri(endpoint), request, responseType));
+        } catch (RuntimeException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            ApiResponse response = ApiResponse.builder()
-                    .data(responseEntity.getBody())
-                    .statusCode(responseEntity.getStatusCode().value())
-                    .build();
-            eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response));
+    /**
+     * 타입 응답을 읽고 SUCCESS 이벤트를 발행한다. 스트리밍 모드에서는 응답 스트림에서 바로 역직렬화하고
+     * 로그에는 앞부분 max-capture-bytes 만 남긴다. 아니면 응답 전체를 String 으로 받은 뒤 역직렬화한다.
+     * 역직렬화 실패는 {@link UncheckedIOException} 으로 던진다.
+     */
+    private <T> T readTyped(RestClient.RequestHeadersSpec<?> spec, ApiRequest request, Class<T> responseType) {
+        if (!streaming.isEnabled()) {
+            ResponseEntity<String> responseEntity = spec.retrieve().toEntity(String.class);
+            T responseBody;
+            try {
+                responseBody = objectMapper.readValue(responseEntity.getBody(), responseType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            publishSuccess(request, responseEntity.getBody(), responseEntity.getStatusCode().value());
+            return responseBody;
+        }
 
+        return spec.exchange((httpRequest, httpResponse) -> {
+            HttpStatusCode status = httpResponse.getStatusCode();
+            if (status.isError()) {
+                byte[] body = httpResponse.getBody().readNBytes(streaming.getMaxCaptureBytes());
+                throw HttpStatusErrors.create(status, httpResponse.getStatusText(), httpResponse.getHeaders(), body);
+            }
+            CapturingInputStream body = new CapturingInputStream(httpResponse.getBody(), streaming.getMaxCaptureBytes());
+            T responseBody = objectMapper.readValue(body, responseType);
+            publishSuccess(request, body.captured(), status.value());
             return responseBody;
-        } catch (Exception e) {
-            eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, 0, false));
-            throw new RuntimeException(e);
+        });
+    }
+
+    /**
+     * SUCCESS 이벤트를 발행한다. 시도 안에서 호출되므로 현재 시도의 시간 측정값을 함께 싣는다.
+     */
+    private ApiResponse publishSuccess(ApiRequest request, String data, int statusCode) {
+        ApiResponse response = ApiResponse.builder()
+                .data(data)
+                .statusCode(statusCode)
+                .build();
+        CallTiming timing = CallTiming.current();
+        eventPublisher.publishEvent(new ApiCallSuccessEvent(this, request, response,
+                timing != null ? timing.snapshot() : null));
+        return response;
+    }
+
+    /**
+     * 재시도 정책에 따라 호출을 수행한다. 재시도할 실패마다 실제 재시도 번호로 RETRY_ERROR 이벤트를,
+     * 최종 실패에는 그때까지의 재시도 횟수로 ERROR 이벤트를 발행한다. 동기 호출은 결과를 돌려줘야 하므로
+     * backoff 동안 호출 스레드가 기다리지만 Thread.sleep 대신 지연 실행기의 완료를 기다린다.
+     */
+    private <R> R callSync(HttpMethod method, ApiRequest request, Supplier<R> call) {
+        retrier.onCall(request.getEndpoint());
+        CallTiming timing = CallTiming.start();
+        Supplier<R> attempt = timed(method, request, call);
+        for (int retryCount = 0; ; retryCount++) {
+            try (ApiCallBulkhead.Permit permit = bulkhead.acquire(request.getEndpoint())) {
+                return timing.attempt(attempt);
+            } catch (RuntimeException e) {
+                ApiCallTiming failed = timing.snapshot();
+                Duration delay = retrier.nextDelay(request.getEndpoint(), retryCount + 1, e);
+                if (delay == null || !awaitBackoff(delay)) {
+                    eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, retryCount, false, failed));
+                    throw e;
+                }
+                metrics.recordRetry(method.name(), request.getEndpoint());
+                eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, e, retryCount + 1, true, failed));
+            }
+        }
+    }
+
+    private <R> CompletableFuture<R> callAsync(HttpMethod method, ApiRequest request, Supplier<R> call) {
+        retrier.onCall(request.getEndpoint());
+        return attemptAsync(method, request, CallTiming.start(), timed(method, request, call), 0);
+    }
+
+    /**
+     * 시도 한 번의 소요 시간을 결과와 함께 기록한다. 벌크헤드나 실행기에서 거절된 시도는 포함하지 않는다.
+     */
+    private <R> Supplier<R> timed(HttpMethod method, ApiRequest request, Supplier<R> call) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                R result = call.get();
+                metrics.recordCall(method.name(), request.getEndpoint(), null, System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                metrics.recordCall(method.name(), request.getEndpoint(), e, System.nanoTime() - start);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * 한 번 시도하고, 재시도할 실패면 backoff 뒤에 다음 시도를 지연 실행기에 예약한다.
+     * 기다리는 동안 어떤 스레드도 점유하지 않는다.
+     */
+    private <R> CompletableFuture<R> attemptAsync(HttpMethod method, ApiRequest request, CallTiming timing,
+                                                  Supplier<R> call, int retryCount) {
+        return submit(request, () -> timing.attempt(call)).exceptionallyCompose(failure -> {
+            ApiCallTiming failed = timing.snapshot();
+            Throwable error = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            Duration delay = retrier.nextDelay(request.getEndpoint(), retryCount + 1, error);
+            if (delay == null) {
+                eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, error, retryCount, false, failed));
+                return CompletableFuture.failedFuture(error);
+            }
+            metrics.recordRetry(method.name(), request.getEndpoint());
+            eventPublisher.publishEvent(new ApiCallErrorEvent(this, request, error, retryCount + 1, true, failed));
+            Executor delayed = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor);
+            return CompletableFuture.runAsync(() -> {
+            }, delayed).thenCompose(ignored -> attemptAsync(method, request, timing, call, retryCount + 1));
+        });
+    }
+
+    /**
+     * backoff 만큼 기다린다. 기다리는 중 인터럽트되면 false.
+     */
+    private boolean awaitBackoff(Duration delay) {
+        try {
+            CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, Runnable::run)).get();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
         }
     }
+
+    /**
+     * 벌크헤드 슬롯을 얻은 뒤 전용 실행기에서 호출을 한 번 수행한다. 슬롯은 호출이 끝나면 반환된다.
+     * 슬롯 대기는 호출한 스레드를 막지 않는다. 한도 초과나 실행기 포화로 거절되면 실패한 future 를 돌려준다.
+     */
+    private <R> CompletableFuture<R> submit(ApiRequest request, Supplier<R> call) {
+        return bulkhead.acquireAsync(request.getEndpoint()).thenCompose(permit -> {
+            try {
+                return CompletableFuture.supplyAsync(call, executor)
+                        .whenComplete((result, error) -> permit.close());
+            } catch (RejectedExecutionException e) {
+                permit.close();
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
 }
\ No newline at end of file
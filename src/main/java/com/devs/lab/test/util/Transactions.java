@@ -0,0 +1,29 @@
+package com.devs.lab.test.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 동기화 헬퍼.
+ */
+public final class Transactions {
+
+    private Transactions() {
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 실행한다. 롤백되면 실행하지 않고, 트랜잭션 밖이면 바로 실행한다.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,2 @@
+ALTER TABLE api_log
+    ADD COLUMN retry_history JSONB;
\ No newline at end of file
@@ -0,0 +1,46 @@
+-- api_log 를 timestamp 기준 range 파티션 테이블로 전환한다.
+-- 기존 테이블은 내일 0시까지를 덮는 첫 파티션으로 붙이고, 이후 파티션은 ApiLogPartitionMaintainer 가 미리 만든다.
+ALTER TABLE api_log RENAME TO api_log_legacy;
+ALTER INDEX idx_request_id RENAME TO idx_api_log_legacy_request_id;
+ALTER INDEX idx_timestamp RENAME TO idx_api_log_legacy_timestamp;
+
+CREATE TABLE api_log
+(
+    id            BIGINT       NOT NULL DEFAULT nextval('api_log_id_seq'),
+    event_type    VARCHAR(50)  NOT NULL,
+    request_id    VARCHAR(36)  NOT NULL,
+    endpoint      VARCHAR(255) NOT NULL,
+    payload       JSONB,
+    response      JSONB,
+    status_code   INT,
+    error_message JSONB,
+    timestamp     TIMESTAMP    NOT NULL,
+    retry_count   INT     DEFAULT 0,
+    is_retry      BOOLEAN DEFAULT FALSE,
+    retry_history JSONB,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- 첫 파티션이 만료되어 삭제될 때 시퀀스가 함께 삭제되지 않도록 소유 테이블을 옮긴다.
+ALTER SEQUENCE api_log_id_seq OWNED BY api_log.id;
+
+CREATE INDEX idx_request_id ON api_log (request_id);
+CREATE INDEX idx_timestamp ON api_log (timestamp);
+
+-- 파티션 범위와 같은 CHECK 제약을 먼저 검증해 두면 ATTACH 가 잠금을 쥔 채 기존 테이블을 다시 스캔하지 않는다.
+DO
+$$
+DECLARE
+    upper_bound TIMESTAMP := date_trunc('day', LOCALTIMESTAMP) + INTERVAL '1 day';
+BEGIN
+    EXECUTE format('ALTER TABLE api_log_legacy ADD CONSTRAINT api_log_legacy_range CHECK (timestamp IS NOT NULL AND timestamp < %L) NOT VALID',
+                   upper_bound);
+    ALTER TABLE api_log_legacy VALIDATE CONSTRAINT api_log_legacy_range;
+    EXECUTE format('ALTER TABLE api_log ATTACH PARTITION api_log_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   upper_bound);
+    ALTER TABLE api_log_legacy DROP CONSTRAINT api_log_legacy_range;
+END
+$$;
+
+-- 미리 만든 파티션이 없을 때 insert 가 실패하지 않도록 받아주는 기본 파티션
+CREATE TABLE api_log_default PARTITION OF api_log DEFAULT;
\ No newline at end of file
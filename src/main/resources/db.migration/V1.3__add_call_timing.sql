@@ -0,0 +1,10 @@
+-- 호출 시작/종료 시각과 첫 바이트까지, 전체 소요 시간(마이크로초). 재시도를 포함해 호출 시작부터 잰다.
+ALTER TABLE api_log
+    ADD COLUMN started_at        TIMESTAMP,
+    ADD COLUMN ended_at          TIMESTAMP,
+    ADD COLUMN first_byte_micros BIGINT,
+    ADD COLUMN duration_micros   BIGINT;
+
+-- 엔드포인트별 느린 호출 조회용
+CREATE INDEX idx_api_log_endpoint_duration ON api_log (endpoint, duration_micros DESC)
+    WHERE duration_micros IS NOT NULL;
\ No newline at end of file
@@ -0,0 +1,24 @@
+-- 큰 본문을 zstd 로 압축해 따로 두는 테이블. api_log 행에는 body_id 만 남고 payload / response 는 비워 둔다.
+ALTER TABLE api_log
+    ADD COLUMN body_id UUID;
+
+-- 본문 압축에 쓰는 zstd 사전. 본문마다 사용한 사전 id 를 남기므로 이전 사전도 지우지 않는다.
+CREATE TABLE api_log_body_dictionary
+(
+    id         SERIAL PRIMARY KEY,
+    dictionary BYTEA     NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- api_log 와 같은 timestamp range 파티션. 로그 행의 timestamp 를 그대로 쓰므로 (id, timestamp) 조회가 파티션 하나만 본다.
+CREATE TABLE api_log_body
+(
+    id            UUID      NOT NULL,
+    timestamp     TIMESTAMP NOT NULL,
+    dictionary_id INT,
+    payload       BYTEA,
+    response      BYTEA,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE api_log_body_default PARTITION OF api_log_body DEFAULT;
\ No newline at end of file
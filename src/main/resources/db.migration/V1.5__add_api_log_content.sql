@@ -0,0 +1,16 @@
+-- 반복되는 본문을 한 번만 저장하는 content-addressed 테이블. api_log 행은 SHA-256 해시로 참조한다.
+ALTER TABLE api_log
+    ADD COLUMN payload_hash  BYTEA,
+    ADD COLUMN response_hash BYTEA;
+
+-- 파티션을 넘나들며 공유되므로 파티션하지 않는다. 보존 기간 동안 한 번도 쓰이지 않은 행은 last_seen_at 으로 지운다.
+CREATE TABLE api_log_content
+(
+    hash          BYTEA PRIMARY KEY,
+    dictionary_id INT,
+    content       BYTEA     NOT NULL,
+    created_at    TIMESTAMP NOT NULL,
+    last_seen_at  TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_api_log_content_last_seen ON api_log_content (last_seen_at);
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- ApiLogRepository 의 조회 경로에 맞춘 인덱스.
+
+-- 엔드포인트별 조회와 (timestamp, id) keyset 페이지 / 구간 스트림
+CREATE INDEX idx_api_log_endpoint_timestamp ON api_log (endpoint, timestamp, id);
+
+-- 이벤트 타입별 조회와 (timestamp, id) keyset 페이지 / 구간 스트림
+CREATE INDEX idx_api_log_event_type_timestamp ON api_log (event_type, timestamp, id);
+
+-- 오류 대시보드. 전체 중 일부인 오류 행만 담는다. 쿼리 조건에 이 술어가 리터럴로 있어야 플래너가 쓴다.
+CREATE INDEX idx_api_log_errors ON api_log (timestamp, id) INCLUDE (endpoint)
+    WHERE event_type IN ('ERROR', 'RETRY_ERROR');
+
+-- append-only 로 쌓여 timestamp 가 물리적 순서와 거의 같다. 넓은 구간 집계는 btree 대신 작은 BRIN 으로 블록 범위만 고른다.
+-- timestamp 로 정렬하는 조회는 모두 위의 복합 인덱스를 쓰므로, 행마다 갱신되는 btree idx_timestamp 는 지운다.
+CREATE INDEX idx_api_log_timestamp_brin ON api_log USING brin (timestamp) WITH (pages_per_range = 32);
+DROP INDEX IF EXISTS idx_timestamp;
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- 엔드포인트별 1분 단위 집계. 인스턴스마다 flush 할 때 행을 추가하고, 조회할 때 합친다.
+-- latency 는 duration_micros 의 HdrHistogram (압축 인코딩) 이라 여러 행을 합쳐도 백분위가 정확하다.
+CREATE TABLE api_log_stats
+(
+    id       BIGSERIAL PRIMARY KEY,
+    bucket   TIMESTAMP    NOT NULL,
+    endpoint VARCHAR(255) NOT NULL,
+    calls    BIGINT       NOT NULL,
+    errors   BIGINT       NOT NULL,
+    retries  BIGINT       NOT NULL,
+    latency  BYTEA
+);
+
+CREATE INDEX idx_api_log_stats_endpoint_bucket ON api_log_stats (endpoint, bucket);
+CREATE INDEX idx_api_log_stats_bucket ON api_log_stats (bucket);
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.devs.lab.test.autoconfigure;
+
+import com.devs.lab.test.maintenance.ApiLogJsonIndexer;
+import com.devs.lab.test.maintenance.ApiLogPartitionMaintainer;
+import com.devs.lab.test.service.ApiLogBodyStore;
+import com.devs.lab.test.service.ApiLogService;
+import com.devs.lab.test.stats.ApiLogStatsAggregator;
+import com.devs.lab.test.stats.ApiLogStatsStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLogAutoConfigurationTest {
+
+    // 실제 앱과 같이 자동 설정 순서대로 평가되게 ApiLogAutoConfiguration 을 가장 앞에 둔다
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ApiLogAutoConfiguration.class,
+                    JacksonAutoConfiguration.class, DataSourceAutoConfiguration.class,
+                    DataSourceTransactionManagerAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class))
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:autoconfig;DB_CLOSE_DELAY=-1",
+                    "spring.jpa.hibernate.ddl-auto=none");
+
+    @Test
+    void shouldCreateJdbcBackedBeansWhenTheirPropertiesAreOn() {
+        contextRunner
+                .withPropertyValues("api.log.partition.enabled=true", "api.log.json-index.enabled=true",
+                        "api.log.body-storage.enabled=true", "api.log.stats.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ApiLogService.class);
+                    assertThat(context).hasSingleBean(ApiLogPartitionMaintainer.class);
+                    assertThat(context).hasSingleBean(ApiLogJsonIndexer.class);
+                    assertThat(context).hasSingleBean(ApiLogBodyStore.class);
+                    assertThat(context).hasSingleBean(ApiLogStatsStore.class);
+                    assertThat(context).hasSingleBean(ApiLogStatsAggregator.class);
+                });
+    }
+
+    @Test
+    void shouldNotCreateJdbcBackedBeansByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(ApiLogPartitionMaintainer.class);
+            assertThat(context).doesNotHaveBean(ApiLogJsonIndexer.class);
+            assertThat(context).doesNotHaveBean(ApiLogBodyStore.class);
+            assertThat(context).doesNotHaveBean(ApiLogStatsStore.class);
+        });
+    }
+}
\ No newline at end of file
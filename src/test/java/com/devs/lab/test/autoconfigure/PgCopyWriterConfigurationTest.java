@@ -0,0 +1,37 @@
+package com.devs.lab.test.autoconfigure;
+
+import com.devs.lab.test.service.ApiLogWriter;
+import com.devs.lab.test.service.PgCopyApiLogWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PgCopyWriterConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ApiLogAutoConfiguration.PgCopyWriterConfiguration.class)
+            .withBean(JdbcTemplate.class, () -> mock(JdbcTemplate.class))
+            .withBean(ObjectMapper.class)
+            .withBean(ApiLogProperties.class)
+            .withPropertyValues("api.log.batch.enabled=true", "api.log.batch.method=COPY");
+
+    @Test
+    void shouldCreateCopyWriterWhenPostgresDriverIsPresent() {
+        // When & Then
+        contextRunner.run(context -> assertThat(context.getBean(ApiLogWriter.class))
+                .isInstanceOf(PgCopyApiLogWriter.class));
+    }
+
+    @Test
+    void shouldBackOffWhenPostgresDriverIsMissing() {
+        // When & Then
+        contextRunner.withClassLoader(new FilteredClassLoader(PGConnection.class))
+                .run(context -> assertThat(context).doesNotHaveBean(ApiLogWriter.class));
+    }
+}
\ No newline at end of file
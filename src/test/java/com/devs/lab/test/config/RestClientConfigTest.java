@@ -0,0 +1,77 @@
+package com.devs.lab.test.config;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestClientConfigTest {
+
+    @Test
+    void clientHttpRequestFactory_shouldDefaultToSimpleFactory() {
+        // Given
+        RestClientProperties properties = new RestClientProperties();
+
+        // When
+        ClientHttpRequestFactory factory = new RestClientConfig(properties).clientHttpRequestFactory();
+
+        // Then
+        assertThat(factory).isInstanceOf(SimpleClientHttpRequestFactory.class);
+    }
+
+    @Test
+    void clientHttpRequestFactory_shouldCreateJdkFactory() {
+        // Given
+        RestClientProperties properties = new RestClientProperties();
+        properties.setFactory(RestClientProperties.Factory.JDK);
+
+        // When
+        ClientHttpRequestFactory factory = new RestClientConfig(properties).clientHttpRequestFactory();
+
+        // Then
+        assertThat(factory).isInstanceOf(JdkClientHttpRequestFactory.class);
+    }
+
+    @Test
+    void clientHttpRequestFactory_shouldCloseJdkHttpClientOnDestroy() throws Exception {
+        // Given
+        RestClientProperties properties = new RestClientProperties();
+        properties.setFactory(RestClientProperties.Factory.JDK);
+        ClosingJdkClientHttpRequestFactory factory =
+                (ClosingJdkClientHttpRequestFactory) new RestClientConfig(properties).clientHttpRequestFactory();
+
+        // When
+        factory.destroy();
+
+        // Then
+        assertThat(factory.getHttpClient().isTerminated()).isTrue();
+    }
+
+    @Test
+    void clientHttpRequestFactory_shouldCreatePooledHttpComponentsFactory() throws Exception {
+        // Given
+        RestClientProperties properties = new RestClientProperties();
+        properties.setFactory(RestClientProperties.Factory.HTTP_COMPONENTS);
+        properties.getPool().setMaxConnections(64);
+        properties.getPool().setMaxConnectionsPerRoute(16);
+
+        // When
+        ClientHttpRequestFactory factory = new RestClientConfig(properties).clientHttpRequestFactory();
+
+        // Then
+        assertThat(factory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        HttpClient httpClient = ((HttpComponentsClientHttpRequestFactory) factory).getHttpClient();
+        Object connectionManager = ReflectionTestUtils.getField(httpClient, "connManager");
+        assertThat(connectionManager).isInstanceOf(PoolingHttpClientConnectionManager.class);
+        PoolingHttpClientConnectionManager pool = (PoolingHttpClientConnectionManager) connectionManager;
+        assertThat(pool.getMaxTotal()).isEqualTo(64);
+        assertThat(pool.getDefaultMaxPerRoute()).isEqualTo(16);
+        ((HttpComponentsClientHttpRequestFactory) factory).destroy();
+    }
+}
\ No newline at end of file
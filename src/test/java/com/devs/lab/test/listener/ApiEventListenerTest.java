@@ -5,6 +5,7 @@ import com.devs.lab.test.event.ApiCallInitiatedEvent;
 import com.devs.lab.test.event.ApiCallSuccessEvent;
 import com.devs.lab.test.model.dto.ApiRequest;
 import com.devs.lab.test.model.dto.ApiResponse;
+import com.devs.lab.test.pipeline.ApiLogRetryScheduler;
 import com.devs.lab.test.service.ApiLogService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -129,4 +130,42 @@ class ApiEventListenerTest {
 
         verify(apiLogService).saveApiCallError(event);
     }
+
+    @Test
+    void handleApiCallSuccess_shouldScheduleRetryWhenServiceFails() {
+        // Given
+        ApiLogRetryScheduler retryScheduler = mock(ApiLogRetryScheduler.class);
+        ApiEventListener listener = new ApiEventListener(apiLogService, null, retryScheduler, null);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{\"result\":\"success\"}")
+                .statusCode(200)
+                .build();
+        ApiCallSuccessEvent event = new ApiCallSuccessEvent(this, request, response);
+        doThrow(new RuntimeException("Service error")).when(apiLogService).saveApiCallSuccess(event);
+
+        // When
+        listener.handleApiCallSuccess(event);
+
+        // Then
+        verify(retryScheduler).schedule(event);
+    }
+
+    @Test
+    void handleApiCallInitiated_shouldDeferWithoutWritingWhenCircuitIsOpen() {
+        // Given
+        ApiLogRetryScheduler retryScheduler = mock(ApiLogRetryScheduler.class);
+        when(retryScheduler.isCircuitOpen()).thenReturn(true);
+        ApiEventListener listener = new ApiEventListener(apiLogService, null, retryScheduler, null);
+        ApiCallInitiatedEvent event = new ApiCallInitiatedEvent(this, ApiRequest.builder().endpoint("/api/test").build());
+
+        // When
+        listener.handleApiCallInitiated(event);
+
+        // Then
+        verify(retryScheduler).defer(event);
+        verify(apiLogService, never()).saveApiCallInitiated(any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.devs.lab.test.load;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 워커 하나가 기록하는 응답 시간(ns). 워커마다 따로 두고 끝난 뒤 합쳐서 정렬하므로 기록 중에는 경합이 없다.
+ */
+class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 여러 워커의 기록을 합쳐 정렬한 배열.
+     */
+    static long[] merge(List<LatencySamples> samples) {
+        int total = samples.stream().mapToInt(LatencySamples::size).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencySamples sample : samples) {
+            System.arraycopy(sample.values, 0, merged, offset, sample.size);
+            offset += sample.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * nearest-rank 백분위. sorted 가 비어 있으면 0.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(rank, 1)) - 1];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.devs.lab.test.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 부하 테스트 한 회의 결과.
+ *
+ * @param threads        AsyncConfig 모드 (virtual, platform)
+ * @param calls          호출 방식 (sync, async)
+ * @param completed      측정 구간에 끝난 호출 수
+ * @param errors         그 중 예외로 끝난 호출 수
+ * @param callsPerSecond 초당 호출 수
+ * @param latency        응답 시간 (ns, 정렬됨)
+ * @param maxLogBacklog  측정 구간 동안 발행됐지만 아직 저장되지 않은 로그 행의 최댓값
+ * @param drainTime      부하가 끝난 뒤 남은 로그 행이 모두 저장되기까지 걸린 시간. 제한 시간 안에 끝나지 않으면 null
+ * @param allocationRate 측정 구간의 힙 할당 속도 (MB/s). 같은 JVM 의 스텁 서버 할당도 포함한다
+ */
+record LoadTestReport(String threads, String calls, long completed, long errors, double callsPerSecond,
+                      long[] latency, long maxLogBacklog, Duration drainTime, double allocationRate) {
+
+    private static final String FORMAT = "%-9s %-6s %10s %8s %10s %9s %9s %9s %12s %10s %12s%n";
+
+    static String table(List<LoadTestReport> reports) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, FORMAT,
+                "threads", "calls", "completed", "errors", "calls/s", "p50(ms)", "p99(ms)", "p999(ms)",
+                "log backlog", "drain(ms)", "alloc(MB/s)"));
+        for (LoadTestReport report : reports) {
+            table.append(String.format(Locale.ROOT, FORMAT,
+                    report.threads, report.calls, report.completed, report.errors,
+                    String.format(Locale.ROOT, "%.1f", report.callsPerSecond),
+                    millis(LatencySamples.percentile(report.latency, 50)),
+                    millis(LatencySamples.percentile(report.latency, 99)),
+                    millis(LatencySamples.percentile(report.latency, 99.9)),
+                    report.maxLogBacklog,
+                    report.drainTime != null ? report.drainTime.toMillis() : "timeout",
+                    String.format(Locale.ROOT, "%.1f", report.allocationRate)));
+        }
+        return table.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.devs.lab.test.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시스템 프로퍼티 {@code loadtest.*} 로 받는 부하 테스트 설정.
+ *
+ * @param concurrency   동시에 호출하는 워커 수
+ * @param warmup        측정 전에 버리는 구간
+ * @param duration      측정 구간
+ * @param latency       스텁 서버 응답 지연
+ * @param errorRate     스텁 서버가 503 을 돌려주는 비율
+ * @param bodySize      스텁 서버 응답 본문 크기 (바이트)
+ * @param threadModes   비교할 AsyncConfig 모드 (virtual, platform)
+ * @param callModes     비교할 호출 방식 (sync, async)
+ * @param database      로그를 저장할 DB (h2, postgres)
+ * @param properties    컨텍스트에 추가로 넘길 스프링 프로퍼티
+ */
+record LoadTestSettings(int concurrency, Duration warmup, Duration duration, Duration latency, double errorRate,
+                        int bodySize, List<String> threadModes, List<String> callModes, String database,
+                        Map<String, String> properties) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 64),
+                duration("loadtest.warmup", "5s"),
+                duration("loadtest.duration", "30s"),
+                duration("loadtest.latency", "20ms"),
+                Double.parseDouble(System.getProperty("loadtest.error-rate", "0.01")),
+                Integer.getInteger("loadtest.body-size", 1024),
+                list("loadtest.threads", "virtual,platform"),
+                list("loadtest.calls", "sync,async"),
+                System.getProperty("loadtest.database", "h2"),
+                properties(System.getProperty("loadtest.properties", "")));
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+
+    private static List<String> list(String key, String defaultValue) {
+        return Arrays.stream(System.getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    /**
+     * "a.b=1,c.d=2" 형태.
+     */
+    private static Map<String, String> properties(String value) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                properties.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+            }
+        }
+        return properties;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.devs.lab.test.load;
+
+import com.devs.lab.ApiLogApplication;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.util.RestApiClientUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RestApiClientUtil 종단 부하 테스트. 프로세스 내 스텁 서버를 호출하면서 로그를 H2 또는 PostgreSQL 에 저장하고,
+ * AsyncConfig 의 가상 스레드 / 스레드 풀 모드별로 처리량, 응답 시간 백분위, 로그 저장 지연, 할당 속도를 출력한다.
+ * <p>
+ * 기본 빌드에서는 건너뛴다. 실행 예:
+ * <pre>
+ * ./mvnw test -Dtest=RestApiClientUtilLoadTest -Dloadtest=true -Dloadtest.duration=20s -Dloadtest.concurrency=200
+ * </pre>
+ * 설정 항목은 {@link LoadTestSettings} 참고. 워커 스레드 종류는 모드를 따라간다 (virtual 이면 가상 스레드).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class RestApiClientUtilLoadTest {
+
+    private static final String ENDPOINT = "/api/orders/42";
+    private static final String PAYLOAD = "{\"orderId\":42,\"items\":[{\"sku\":\"A-1\",\"qty\":2}]}";
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    void compareExecutorModes() throws Exception {
+        // Given
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        log.info("Load test settings: {}", settings);
+        List<LoadTestReport> reports = new ArrayList<>();
+
+        try (StubApiServer stub = new StubApiServer(settings.latency(), settings.errorRate(), settings.bodySize());
+             PostgreSQLContainer<?> postgres = "postgres".equals(settings.database()) ? startPostgres() : null) {
+            for (String threads : settings.threadModes()) {
+                for (String calls : settings.callModes()) {
+                    // When
+                    LogRowCounter published = new LogRowCounter();
+                    try (ConfigurableApplicationContext context = start(settings, threads, stub, postgres, published)) {
+                        reports.add(run(context, settings, threads, calls, published));
+                    }
+                }
+            }
+        }
+
+        // Then
+        log.info("Load test results\n{}", LoadTestReport.table(reports));
+        assertThat(reports).allSatisfy(report -> assertThat(report.completed()).isPositive());
+    }
+
+    private static LoadTestReport run(ConfigurableApplicationContext context, LoadTestSettings settings,
+                                      String threads, String calls, LogRowCounter published) throws Exception {
+        RestApiClientUtil client = context.getBean(RestApiClientUtil.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        boolean virtual = "virtual".equals(threads);
+
+        drive(client, calls, virtual, settings.concurrency(), settings.warmup(), new LongAdder());
+
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicLong maxBacklog = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().name("load-backlog-sampler").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                maxBacklog.accumulateAndGet(published.count() - rows(jdbcTemplate), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        LongAdder errors = new LongAdder();
+        long allocatedBefore = threadMXBean.getTotalThreadAllocatedBytes();
+        long start = System.nanoTime();
+        List<LatencySamples> samples = drive(client, calls, virtual, settings.concurrency(), settings.duration(), errors);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getTotalThreadAllocatedBytes() - allocatedBefore;
+        sampler.interrupt();
+        sampler.join();
+
+        Duration drainTime = awaitDrained(jdbcTemplate, published);
+        long[] latency = LatencySamples.merge(samples);
+        double seconds = elapsed / 1_000_000_000.0;
+        return new LoadTestReport(threads, calls, latency.length, errors.sum(), latency.length / seconds, latency,
+                maxBacklog.get(), drainTime, allocated / seconds / (1024 * 1024));
+    }
+
+    /**
+     * concurrency 개의 워커가 duration 동안 쉬지 않고 호출한다 (closed loop).
+     */
+    private static List<LatencySamples> drive(RestApiClientUtil client, String calls, boolean virtual,
+                                              int concurrency, Duration duration, LongAdder errors)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencySamples> samples = new ArrayList<>(concurrency);
+        List<Thread> workers = new ArrayList<>(concurrency);
+        Thread.Builder builder = virtual ? Thread.ofVirtual().name("load-", 0) : Thread.ofPlatform().name("load-", 0);
+        for (int i = 0; i < concurrency; i++) {
+            LatencySamples sample = new LatencySamples();
+            samples.add(sample);
+            workers.add(builder.start(() -> {
+                while (System.nanoTime() < deadline) {
+                    long callStart = System.nanoTime();
+                    try {
+                        call(client, calls);
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    sample.record(System.nanoTime() - callStart);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return samples;
+    }
+
+    private static void call(RestApiClientUtil client, String calls) {
+        if ("async".equals(calls)) {
+            client.postAsync(ENDPOINT, PAYLOAD).join();
+        } else {
+            client.postSync(ENDPOINT, PAYLOAD);
+        }
+    }
+
+    /**
+     * 발행된 로그 행이 모두 저장될 때까지 기다린 시간. 제한 시간을 넘기면 null.
+     */
+    private static Duration awaitDrained(JdbcTemplate jdbcTemplate, LogRowCounter published)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + DRAIN_TIMEOUT.toNanos();
+        while (rows(jdbcTemplate) < published.count()) {
+            if (System.nanoTime() > deadline) {
+                return null;
+            }
+            Thread.sleep(10);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static long rows(JdbcTemplate jdbcTemplate) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log", Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestSettings settings, String threads, StubApiServer stub,
+                                                        PostgreSQLContainer<?> postgres, LogRowCounter published) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.com.devs.lab.test.listener", "WARN");
+        properties.put("spring.docker.compose.enabled", "false");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(threads)));
+        properties.put("rest.client.base-url", stub.baseUrl());
+        if (postgres != null) {
+            properties.put("spring.datasource.url", postgres.getJdbcUrl());
+            properties.put("spring.datasource.username", postgres.getUsername());
+            properties.put("spring.datasource.password", postgres.getPassword());
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        }
+        properties.putAll(settings.properties());
+        return new SpringApplicationBuilder(ApiLogApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .initializers(context -> {
+                    published.singleRecord = "SINGLE_RECORD".equalsIgnoreCase(
+                            context.getEnvironment().getProperty("api.log.storage-mode"));
+                    context.addApplicationListener(published);
+                })
+                .run();
+    }
+
+    private static PostgreSQLContainer<?> startPostgres() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+                .withDatabaseName("loadtest")
+                .withUsername("test")
+                .withPassword("test");
+        postgres.start();
+        return postgres;
+    }
+
+    /**
+     * 저장되어야 할 로그 행 수. SINGLE_RECORD 모드에서는 INITIATED 와 RETRY_ERROR 가 행을 만들지 않는다.
+     */
+    private static final class LogRowCounter implements ApplicationListener<ApplicationEvent> {
+        private final LongAdder count = new LongAdder();
+        private volatile boolean singleRecord;
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            boolean row = switch (event) {
+                case ApiCallInitiatedEvent ignored -> !singleRecord;
+                case ApiCallSuccessEvent ignored -> true;
+                case ApiCallErrorEvent error -> !singleRecord || !error.isRetry();
+                default -> false;
+            };
+            if (row) {
+                count.increment();
+            }
+        }
+
+        long count() {
+            return count.sum();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.devs.lab.test.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 테스트용 프로세스 내 HTTP 스텁. 모든 경로에 대해 지정한 지연 후 bodySize 바이트 JSON 을 돌려주고,
+ * errorRate 비율로 503 을 돌려준다. 요청마다 가상 스레드 하나를 쓰므로 지연이 길어도 스텁이 병목이 되지 않는다.
+ */
+class StubApiServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final double errorRate;
+    private final byte[] body;
+
+    StubApiServer(Duration latency, double errorRate, int bodySize) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.body = body(bodySize);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            request.transferTo(OutputStream.nullOutputStream());
+        }
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    /**
+     * {"data":"xxx..."} 형태로 전체 길이가 size 바이트가 되게 만든다.
+     */
+    private static byte[] body(int size) {
+        String prefix = "{\"data\":\"";
+        String suffix = "\"}";
+        int fill = Math.max(0, size - prefix.length() - suffix.length());
+        return (prefix + "x".repeat(fill) + suffix).getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.devs.lab.test.maintenance;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ApiLogJsonIndexerTest {
+
+    private final ApiLogJsonIndexer indexer =
+            new ApiLogJsonIndexer(mock(JdbcTemplate.class), new ApiLogProperties.JsonIndex());
+
+    @Test
+    void plan_shouldBuildPartitionIndexesConcurrentlyAndAttachThem() {
+        // When
+        List<String> ddl = indexer.plan(List.of("payload.customer.id"), List.of("api_log_p20261017", "api_log_default"));
+
+        // Then
+        String expression = "((payload #> '{customer,id}') jsonb_path_ops)";
+        assertThat(ddl).containsExactly(
+                "CREATE INDEX IF NOT EXISTS idx_api_log_payload_customer_id_gin ON ONLY api_log USING gin " + expression,
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_api_log_p20261017_payload_customer_id_gin"
+                        + " ON api_log_p20261017 USING gin " + expression,
+                "ALTER INDEX idx_api_log_payload_customer_id_gin"
+                        + " ATTACH PARTITION idx_api_log_p20261017_payload_customer_id_gin",
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_api_log_default_payload_customer_id_gin"
+                        + " ON api_log_default USING gin " + expression,
+                "ALTER INDEX idx_api_log_payload_customer_id_gin"
+                        + " ATTACH PARTITION idx_api_log_default_payload_customer_id_gin");
+    }
+
+    @Test
+    void plan_shouldSkipPathsThatAreNotSafeIdentifiers() {
+        // When - 알 수 없는 컬럼, 키 없는 경로, 따옴표가 들어간 키
+        List<String> ddl = indexer.plan(List.of("body.customer", "payload", "response.a'b", "response.status"),
+                List.of());
+
+        // Then
+        assertThat(ddl).containsExactly("CREATE INDEX IF NOT EXISTS idx_api_log_response_status_gin"
+                + " ON ONLY api_log USING gin ((response #> '{status}') jsonb_path_ops)");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.devs.lab.test.maintenance;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.maintenance.ApiLogPartitionMaintainer.PartitionRange;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ApiLogPartitionMaintainerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 13, 25);
+
+    @Test
+    void plan_shouldPremakeDailyPartitionsNotCoveredYet() {
+        // Given - 마이그레이션이 붙인 기존 테이블은 오늘 자정 이전, 오늘 파티션은 이미 있음
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        List<PartitionRange> existing = List.of(
+                PartitionRange.parse("api_log_legacy", "FOR VALUES FROM (MINVALUE) TO ('2026-10-17 00:00:00')"),
+                PartitionRange.parse("api_log_p20261017", "FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')"),
+                PartitionRange.parse("api_log_default", "DEFAULT"));
+
+        // When
+        List<String> ddl = maintainer(properties).plan(existing, NOW);
+
+        // Then
+        assertThat(ddl).containsExactly(
+                "CREATE TABLE IF NOT EXISTS api_log_p20261018 PARTITION OF api_log"
+                        + " FOR VALUES FROM ('2026-10-18 00:00:00') TO ('2026-10-19 00:00:00')",
+                "CREATE TABLE IF NOT EXISTS api_log_p20261019 PARTITION OF api_log"
+                        + " FOR VALUES FROM ('2026-10-19 00:00:00') TO ('2026-10-20 00:00:00')");
+    }
+
+    @Test
+    void plan_shouldCreateHourlyPartitions() {
+        // Given
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        properties.setGranularity(ApiLogProperties.Partition.Granularity.HOURLY);
+        properties.setPremake(2);
+
+        // When
+        List<String> ddl = maintainer(properties).plan(List.of(), NOW);
+
+        // Then
+        assertThat(ddl).containsExactly(
+                "CREATE TABLE IF NOT EXISTS api_log_p2026101713 PARTITION OF api_log"
+                        + " FOR VALUES FROM ('2026-10-17 13:00:00') TO ('2026-10-17 14:00:00')",
+                "CREATE TABLE IF NOT EXISTS api_log_p2026101714 PARTITION OF api_log"
+                        + " FOR VALUES FROM ('2026-10-17 14:00:00') TO ('2026-10-17 15:00:00')");
+    }
+
+    @Test
+    void plan_shouldNameBodyPartitionsAfterTheirParent() {
+        // Given
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        properties.setPremake(1);
+        properties.setRetention(Duration.ofDays(7));
+        List<PartitionRange> existing = List.of(
+                PartitionRange.parse("api_log_body_p20261001", "FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-10-02 00:00:00')"),
+                PartitionRange.parse("api_log_body_default", "DEFAULT"));
+
+        // When
+        List<String> ddl = maintainer(properties).plan("api_log_body", existing, NOW);
+
+        // Then
+        assertThat(ddl).containsExactly(
+                "CREATE TABLE IF NOT EXISTS api_log_body_p20261017 PARTITION OF api_log_body"
+                        + " FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')",
+                "DROP TABLE IF EXISTS api_log_body_p20261001");
+    }
+
+    @Test
+    void plan_shouldMoveRowsOutOfDefaultPartitionBeforeCreatingTheirRange() {
+        // Given - 10/18 범위의 행이 파티션 없이 DEFAULT 에 쌓여 있음
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        properties.setPremake(2);
+        List<PartitionRange> existing = List.of(
+                PartitionRange.parse("api_log_p20261017", "FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')"),
+                PartitionRange.parse("api_log_default", "DEFAULT"));
+
+        // When
+        List<String> ddl = maintainer(properties).plan("api_log", existing, NOW,
+                (from, to) -> from.equals(LocalDateTime.of(2026, 10, 18, 0, 0)));
+
+        // Then
+        assertThat(ddl).containsExactly(
+                "DO $$ BEGIN ALTER TABLE api_log DETACH PARTITION api_log_default;"
+                        + " CREATE TABLE api_log_p20261018 PARTITION OF api_log"
+                        + " FOR VALUES FROM ('2026-10-18 00:00:00') TO ('2026-10-19 00:00:00');"
+                        + " INSERT INTO api_log_p20261018 SELECT * FROM api_log_default"
+                        + " WHERE timestamp >= '2026-10-18 00:00:00' AND timestamp < '2026-10-19 00:00:00';"
+                        + " DELETE FROM api_log_default"
+                        + " WHERE timestamp >= '2026-10-18 00:00:00' AND timestamp < '2026-10-19 00:00:00';"
+                        + " ALTER TABLE api_log ATTACH PARTITION api_log_default DEFAULT; END $$");
+    }
+
+    @Test
+    void plan_shouldExpirePartitionsOlderThanRetention() {
+        // Given
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        properties.setPremake(0);
+        properties.setRetention(Duration.ofDays(7));
+        properties.setRetentionAction(ApiLogProperties.Partition.RetentionAction.DETACH);
+        List<PartitionRange> existing = List.of(
+                PartitionRange.parse("api_log_legacy", "FOR VALUES FROM (MINVALUE) TO ('2026-10-01 00:00:00')"),
+                PartitionRange.parse("api_log_p20261010", "FOR VALUES FROM ('2026-10-10 00:00:00') TO ('2026-10-11 00:00:00')"),
+                PartitionRange.parse("api_log_default", "DEFAULT"));
+
+        // When
+        List<String> ddl = maintainer(properties).plan(existing, NOW);
+
+        // Then - 10/11 자정은 보존 기준(10/10 13:25) 이후이므로 아직 유지
+        assertThat(ddl).containsExactly("ALTER TABLE api_log DETACH PARTITION api_log_legacy");
+    }
+
+    @Test
+    void contentCutoff_shouldOutliveTheOldestSurvivingPartition() {
+        // Given
+        ApiLogProperties.Partition properties = new ApiLogProperties.Partition();
+        properties.setRetention(Duration.ofDays(7));
+        ApiLogPartitionMaintainer maintainer = new ApiLogPartitionMaintainer(mock(JdbcTemplate.class), properties,
+                Duration.ofHours(1));
+
+        // When
+        LocalDateTime cutoff = maintainer.contentCutoff(NOW);
+
+        // Then - 10/10 파티션(~10/11 자정)은 아직 남아 있으므로 그 시작보다 이전만 지운다
+        assertThat(cutoff).isEqualTo(LocalDateTime.of(2026, 10, 9, 12, 25));
+    }
+
+    @Test
+    void purgeContentSql_shouldKeepHashesReferencedFromDefaultPartition() {
+        // Given
+        List<PartitionRange> partitions = List.of(
+                PartitionRange.parse("api_log_p20261017", "FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')"),
+                PartitionRange.parse("api_log_default", "DEFAULT"));
+
+        // When
+        String sql = maintainer(new ApiLogProperties.Partition()).purgeContentSql(partitions);
+
+        // Then
+        assertThat(sql).isEqualTo("DELETE FROM api_log_content WHERE last_seen_at < ?"
+                + " AND NOT EXISTS (SELECT 1 FROM api_log_default l"
+                + " WHERE l.payload_hash = api_log_content.hash OR l.response_hash = api_log_content.hash)");
+    }
+
+    private ApiLogPartitionMaintainer maintainer(ApiLogProperties.Partition properties) {
+        return new ApiLogPartitionMaintainer(mock(JdbcTemplate.class), properties, Duration.ZERO);
+    }
+}
\ No newline at end of file
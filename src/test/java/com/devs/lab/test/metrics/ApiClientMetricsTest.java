@@ -0,0 +1,63 @@
+package com.devs.lab.test.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiClientMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ApiClientMetrics metrics = new ApiClientMetrics(registry);
+
+    @Test
+    void recordCall_shouldTagByUriTemplateAndOutcome() {
+        // When
+        metrics.recordCall("GET", "https://api.example.com/orders/123?expand=items", null, 5_000_000);
+        metrics.recordCall("GET", "/orders/456", null, 7_000_000);
+        metrics.recordCall("GET", "/orders/9f1c2d3e-4b5a-4c6d-8e7f-0a1b2c3d4e5f",
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null), 1_000_000);
+
+        // Then
+        Timer success = registry.get("api.client.requests")
+                .tags("method", "GET", "uri", "/orders/{id}", "outcome", "SUCCESS").timer();
+        assertThat(success.count()).isEqualTo(2);
+        assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+        assertThat(registry.get("api.client.requests").tag("outcome", "SERVER_ERROR").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordCall_shouldClassifyWrappedErrorsByCause() {
+        // Given - 동기 메서드는 RuntimeException, 비동기 경로는 CompletionException 으로 감싼다
+        Throwable wrapped = new RuntimeException(
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        Throwable async = new CompletionException(new RejectedExecutionException("bulkhead full"));
+
+        // When
+        metrics.recordCall("GET", "/orders/1", wrapped, 1_000_000);
+        metrics.recordCall("GET", "/orders/2", async, 1_000_000);
+
+        // Then
+        assertThat(registry.get("api.client.requests").tag("outcome", "CLIENT_ERROR").timer().count()).isEqualTo(1);
+        assertThat(registry.get("api.client.requests").tag("outcome", "REJECTED").timer().count()).isEqualTo(1);
+        assertThat(registry.find("api.client.requests").tag("outcome", "UNKNOWN").timer()).isNull();
+    }
+
+    @Test
+    void recordRetry_shouldCountRetriesPerUri() {
+        // When
+        metrics.recordRetry("POST", "/payments/1");
+        metrics.recordRetry("POST", "/payments/2");
+
+        // Then
+        assertThat(registry.get("api.client.retries").tag("uri", "/payments/{id}").counter().count()).isEqualTo(2);
+    }
+}
\ No newline at end of file
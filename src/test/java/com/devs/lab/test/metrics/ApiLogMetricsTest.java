@@ -0,0 +1,60 @@
+package com.devs.lab.test.metrics;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.pipeline.ApiLogWriteBehindQueue;
+import com.devs.lab.test.pipeline.OverflowPolicy;
+import com.devs.lab.test.service.ApiLogService;
+import com.devs.lab.test.service.ApiLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ApiLogMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ApiLogMetrics metrics = new ApiLogMetrics(registry);
+
+    @Test
+    void timed_shouldRecordBatchSizeAndWriteOutcome() {
+        // Given
+        ApiLogWriter failing = entities -> {
+            throw new IllegalStateException("db down");
+        };
+        ApiLogWriter ok = metrics.timed(entities -> {
+        });
+
+        // When
+        ok.write(List.of(new ApiLogEntity(), new ApiLogEntity()));
+        assertThatThrownBy(() -> metrics.timed(failing).write(List.of(new ApiLogEntity())))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(registry.get("api.log.write").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("api.log.write").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("api.log.batch.size").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void monitor_shouldExposeQueueDepthAndDrops() {
+        // Given
+        ApiLogProperties.WriteBehind properties = new ApiLogProperties.WriteBehind();
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(mock(ApiLogService.class), properties, null);
+        metrics.monitor(queue);
+
+        // When
+        queue.enqueue(new Object());
+        queue.enqueue(new Object());
+
+        // Then
+        assertThat(registry.get("api.log.queue.size").tag("queue", "write-behind").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("api.log.dropped").tag("queue", "write-behind").functionCounter().count()).isEqualTo(1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,310 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.service.ApiLogService;
+import com.devs.lab.test.spool.ApiLogSpool;
+import com.devs.lab.test.spool.ApiLogSpoolReplayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiLogRetrySchedulerTest {
+
+    @Mock
+    private ApiLogService apiLogService;
+
+    private ApiLogProperties.Retry properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiLogProperties.Retry();
+        properties.setInitialBackoff(Duration.ZERO);
+        properties.setJitter(0);
+    }
+
+    @Test
+    void drain_shouldRetryFailedWritesAsOneBatch() {
+        // Given
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        Object first = event();
+        Object second = event();
+        scheduler.schedule(first);
+        scheduler.schedule(second);
+
+        // When
+        scheduler.drain();
+
+        // Then
+        verify(apiLogService).saveAll(List.of(first, second));
+        assertThat(scheduler.size()).isZero();
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+    }
+
+    @Test
+    void drain_shouldSplitFailedBatchSoOneBadEventDoesNotHoldBackOthers() {
+        // Given - bad 가 들어간 배치는 항상 실패
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        Object bad = event();
+        List<Object> good = List.of(event(), event(), event(), event(), event());
+        List<Object> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<?> events = invocation.getArgument(0);
+            if (events.contains(bad)) {
+                throw new RuntimeException("value too long");
+            }
+            saved.addAll(events);
+            return null;
+        }).when(apiLogService).saveAll(anyCollection());
+        scheduler.scheduleAll(List.of(good.get(0), good.get(1), bad, good.get(2), good.get(3), good.get(4)));
+        // 다시 예약된 이벤트는 이번 drain 에서 꺼내지 않는다
+        properties.setInitialBackoff(Duration.ofHours(1));
+
+        // When
+        scheduler.drain();
+
+        // Then - bad 만 다시 예약되고 circuit 은 닫혀 있다
+        assertThat(saved).containsExactlyInAnyOrderElementsOf(good);
+        assertThat(scheduler.size()).isEqualTo(1);
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+    }
+
+    @Test
+    void drain_shouldBoundSplittingAndCountOneFailureWhenNothingIsWritten() {
+        // Given - DB 가 내려가 모든 쓰기가 실패
+        properties.setFailureThreshold(3);
+        properties.setOpenDuration(Duration.ofHours(1));
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        List<Object> events = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            events.add(event());
+        }
+        scheduler.scheduleAll(events);
+        properties.setInitialBackoff(Duration.ofHours(1));
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+
+        // When
+        scheduler.drain();
+
+        // Then - 16, 8, 4, 2, 1, 1 에서 연속 실패한 뒤 나누기를 멈추고, circuit 에는 실패 두 번(scheduleAll, drain)만 반영
+        verify(apiLogService, times(6)).saveAll(anyCollection());
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+        assertThat(scheduler.size()).isEqualTo(16);
+    }
+
+    @Test
+    void drain_shouldKeepCircuitClosedWhenOneBadRowLeadsTheBatch() {
+        // Given - 100 건 중 맨 앞의 한 건만 DB 가 거부
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        Object bad = event();
+        List<Object> events = new ArrayList<>();
+        events.add(bad);
+        for (int i = 0; i < 99; i++) {
+            events.add(event());
+        }
+        List<Object> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new RuntimeException("value too long");
+            }
+            saved.addAll(batch);
+            return null;
+        }).when(apiLogService).saveAll(anyCollection());
+        scheduler.scheduleAll(events);
+        properties.setInitialBackoff(Duration.ofHours(1));
+
+        // When
+        scheduler.drain();
+
+        // Then
+        assertThat(saved).hasSize(99);
+        assertThat(scheduler.size()).isEqualTo(1);
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+    }
+
+    @Test
+    void drain_shouldCloseHalfOpenCircuitWhenSplitBatchWritesSomeRows() {
+        // Given - circuit 이 열렸다가 바로 HALF_OPEN 으로 넘어가고, 시험 batch 에 나쁜 행이 섞여 있다
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ZERO);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        Object bad = event();
+        doAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new RuntimeException("value too long");
+            }
+            return null;
+        }).when(apiLogService).saveAll(anyCollection());
+        scheduler.scheduleAll(List.of(bad, event(), event(), event()));
+        assertThat(scheduler.isCircuitOpen()).isTrue();
+        properties.setInitialBackoff(Duration.ofHours(1));
+
+        // When
+        scheduler.drain();
+
+        // Then
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+        assertThat(scheduler.size()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduleAll_shouldCountFailedBatchAsOneCircuitFailure() {
+        // Given
+        properties.setFailureThreshold(2);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+
+        // When
+        int accepted = scheduler.scheduleAll(List.of(event(), event(), event(), event(), event()));
+
+        // Then
+        assertThat(accepted).isEqualTo(5);
+        assertThat(scheduler.isCircuitOpen()).isFalse();
+        assertThat(scheduler.size()).isEqualTo(5);
+    }
+
+    @Test
+    void drain_shouldNotHitDatabaseWhileCircuitIsOpen() {
+        // Given
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofHours(1));
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+
+        // When
+        scheduler.schedule(event());
+        scheduler.defer(event());
+        scheduler.drain();
+
+        // Then
+        assertThat(scheduler.isCircuitOpen()).isTrue();
+        assertThat(scheduler.size()).isEqualTo(2);
+        verifyNoInteractions(apiLogService);
+    }
+
+    @Test
+    void drain_shouldGiveUpAfterMaxAttempts() {
+        // Given
+        properties.setMaxAttempts(2);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+        scheduler.schedule(event());
+
+        // When
+        scheduler.drain();
+
+        // Then
+        assertThat(scheduler.size()).isZero();
+        assertThat(scheduler.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void schedule_shouldDropWhenQueueIsFull() {
+        // Given
+        properties.setQueueCapacity(1);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+
+        // When
+        boolean first = scheduler.schedule(event());
+        boolean second = scheduler.schedule(event());
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(scheduler.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void drain_shouldSpoolEventsItGivesUpOn(@TempDir Path directory) throws Exception {
+        // Given
+        properties.setMaxAttempts(2);
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, spool);
+        Object event = event();
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+        when(apiLogService.toEntity(event)).thenReturn(ApiLogEntity.builder().requestId("req-1").build());
+        scheduler.schedule(event);
+
+        // When
+        scheduler.drain();
+
+        // Then
+        List<ApiLogEntity> spooled = new ArrayList<>();
+        spool.replay(100, spooled::addAll);
+        assertThat(spooled).extracting(ApiLogEntity::getRequestId).containsExactly("req-1");
+        assertThat(scheduler.getSpooledCount()).isEqualTo(1);
+        assertThat(scheduler.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void drain_shouldCountAbsorbedEventsSeparatelyFromSpooled(@TempDir Path directory) throws Exception {
+        // Given - SINGLE_RECORD 모드에서 행 없이 흡수되는 이벤트
+        properties.setMaxAttempts(1);
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, spool);
+        Object event = event();
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+        when(apiLogService.absorb(event)).thenReturn(true);
+        scheduler.schedule(event);
+
+        // When
+        scheduler.drain();
+
+        // Then
+        assertThat(scheduler.getAbsorbedCount()).isEqualTo(1);
+        assertThat(scheduler.getSpooledCount()).isZero();
+        assertThat(spool.hasPending()).isFalse();
+    }
+
+    @Test
+    void schedule_shouldSpoolEventsHandedOverAfterStop(@TempDir Path directory) throws Exception {
+        // Given - write-behind 큐가 마지막 drain 에서 실패한 batch 를 넘기기 전에 스케줄러가 멈췄다
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, spool);
+        Object event = event();
+        when(apiLogService.toEntity(event)).thenReturn(ApiLogEntity.builder().requestId("req-1").build());
+        scheduler.start();
+        scheduler.stop();
+
+        // When
+        scheduler.scheduleAll(List.of(event));
+
+        // Then
+        assertThat(scheduler.size()).isZero();
+        assertThat(scheduler.getSpooledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void phases_shouldStopProducersBeforeRetryScheduler() {
+        // Given
+        ApiLogRetryScheduler scheduler = new ApiLogRetryScheduler(apiLogService, properties, null);
+
+        // When & Then - 높은 phase 가 먼저 멈추고, 재시도 스케줄러가 spool 로 넘긴 뒤에 spool 재생기가 멈춘다
+        assertThat(new ApiLogWriteBehindQueue(apiLogService, new ApiLogProperties.WriteBehind(), scheduler).getPhase())
+                .isGreaterThan(scheduler.getPhase());
+        assertThat(new ApiLogRingBuffer(apiLogService, new ApiLogProperties.RingBuffer(), scheduler).getPhase())
+                .isGreaterThan(scheduler.getPhase());
+        assertThat(scheduler.getPhase()).isGreaterThan(
+                new ApiLogSpoolReplayer(mock(ApiLogSpool.class), apiLogService, new ApiLogProperties.Spool()).getPhase());
+    }
+
+    private static Object event() {
+        return new ApiCallInitiatedEvent(new Object(), ApiRequest.builder().endpoint("/api/test").build());
+    }
+}
\ No newline at end of file
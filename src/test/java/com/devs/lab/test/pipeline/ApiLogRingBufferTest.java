@@ -0,0 +1,198 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.service.ApiLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiLogRingBufferTest {
+
+    @Mock
+    private ApiLogService apiLogService;
+
+    private ApiLogProperties.RingBuffer properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiLogProperties.RingBuffer();
+        properties.setBufferSize(2);
+        properties.setBlockTimeout(Duration.ofMillis(10));
+    }
+
+    @Test
+    void constructor_shouldRoundBufferSizeUpToPowerOfTwo() {
+        // Given
+        properties.setBufferSize(1000);
+
+        // When
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+
+        // Then
+        assertThat(ringBuffer.getCapacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void publish_dropNewestShouldRejectWhenFull() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+
+        // When
+        boolean first = ringBuffer.publish(event());
+        boolean second = ringBuffer.publish(event());
+        boolean third = ringBuffer.publish(event());
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(ringBuffer.size()).isEqualTo(2);
+        assertThat(ringBuffer.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_dropOldestShouldEvictHeadWhenFull() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+        List<Object> written = new ArrayList<>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0))).when(apiLogService).saveAll(anyCollection());
+        ApiCallInitiatedEvent oldest = event();
+        ApiCallInitiatedEvent second = event();
+        ApiCallInitiatedEvent newest = event();
+
+        // When
+        ringBuffer.publish(oldest);
+        ringBuffer.publish(second);
+        boolean accepted = ringBuffer.publish(newest);
+        ringBuffer.start();
+        ringBuffer.stop();
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(ringBuffer.getDroppedCount()).isEqualTo(1);
+        assertThat(written).containsExactly(second, newest);
+    }
+
+    @Test
+    void publish_blockShouldGiveUpAfterTimeout() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.BLOCK);
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+        ringBuffer.publish(event());
+        ringBuffer.publish(event());
+
+        // When
+        boolean accepted = ringBuffer.publish(event());
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(ringBuffer.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_shouldDeliverEveryEventFromConcurrentProducersExactlyOnce() throws Exception {
+        // Given - 작은 버퍼를 여러 생산자와 두 소비자가 돌려 쓰도록 한다
+        properties.setBufferSize(64);
+        properties.setConsumers(2);
+        properties.setBatchSize(16);
+        properties.setBlockTimeout(Duration.ofSeconds(10));
+        Set<Object> written = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            written.addAll(batch);
+            return null;
+        }).when(apiLogService).saveAll(anyCollection());
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+        ringBuffer.start();
+        int producers = 4;
+        int eventsPerProducer = 2_000;
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    ringBuffer.publish(event());
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        ringBuffer.stop();
+
+        // Then
+        assertThat(ringBuffer.getDroppedCount()).isZero();
+        assertThat(written).hasSize(producers * eventsPerProducer);
+        assertThat(batchSizes).allMatch(size -> size <= 16);
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    @Test
+    void stop_shouldHandFailedBatchToRetrySchedulerAsOneFailure() {
+        // Given - 실패 5번이면 열리는 circuit
+        properties.setBufferSize(8);
+        properties.setBatchSize(8);
+        ApiLogRetryScheduler retryScheduler = new ApiLogRetryScheduler(apiLogService, new ApiLogProperties.Retry(), null);
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, retryScheduler);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.publish(event());
+        }
+
+        // When
+        ringBuffer.start();
+        ringBuffer.stop();
+
+        // Then
+        assertThat(retryScheduler.size()).isEqualTo(5);
+        assertThat(retryScheduler.isCircuitOpen()).isFalse();
+    }
+
+    @Test
+    void ringBufferEventPublisher_shouldBypassDelegateForApiCallEvents() {
+        // Given
+        ApplicationEventPublisher delegate = mock(ApplicationEventPublisher.class);
+        ApiLogRingBuffer ringBuffer = new ApiLogRingBuffer(apiLogService, properties, null);
+        RingBufferEventPublisher publisher = new RingBufferEventPublisher(ringBuffer, delegate);
+
+        // When
+        publisher.publishEvent(event());
+        publisher.publishEvent(new PayloadApplicationEvent<>(this, "other"));
+
+        // Then
+        assertThat(ringBuffer.size()).isEqualTo(1);
+        verify(delegate).publishEvent(any(Object.class));
+    }
+
+    private ApiCallInitiatedEvent event() {
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        return new ApiCallInitiatedEvent(this, request);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.devs.lab.test.pipeline;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.model.dto.ApiRequest;
+import com.devs.lab.test.service.ApiLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiLogWriteBehindQueueTest {
+
+    @Mock
+    private ApiLogService apiLogService;
+
+    private ApiLogProperties.WriteBehind properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiLogProperties.WriteBehind();
+        properties.setQueueCapacity(2);
+        properties.setBlockTimeout(Duration.ofMillis(10));
+    }
+
+    @Test
+    void enqueue_dropNewestShouldRejectWhenFull() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, null);
+
+        // When
+        boolean first = queue.enqueue(event());
+        boolean second = queue.enqueue(event());
+        boolean third = queue.enqueue(event());
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_dropOldestShouldEvictHeadWhenFull() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, null);
+
+        // When
+        queue.enqueue(event());
+        queue.enqueue(event());
+        boolean accepted = queue.enqueue(event());
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_blockShouldGiveUpAfterTimeout() {
+        // Given
+        properties.setOverflowPolicy(OverflowPolicy.BLOCK);
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, null);
+        queue.enqueue(event());
+        queue.enqueue(event());
+
+        // When
+        boolean accepted = queue.enqueue(event());
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_sampleShouldRejectAboveThresholdWithZeroRate() {
+        // Given
+        properties.setQueueCapacity(10);
+        properties.setOverflowPolicy(OverflowPolicy.SAMPLE);
+        properties.setSampleThreshold(0.5);
+        properties.setSampleRate(0.0);
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, null);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(event());
+        }
+
+        // Then - 임계치(5)까지만 들어가고 나머지는 샘플링에서 탈락
+        assertThat(queue.size()).isEqualTo(5);
+        assertThat(queue.getDroppedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void stop_shouldDrainQueuedEventsInBatches() {
+        // Given
+        properties.setQueueCapacity(10);
+        properties.setBatchSize(4);
+        properties.setWriterThreads(1);
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<Collection<?>>getArgument(0).size());
+            return null;
+        }).when(apiLogService).saveAll(anyCollection());
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, null);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(event());
+        }
+
+        // When
+        queue.start();
+        queue.stop();
+
+        // Then
+        assertThat(queue.size()).isZero();
+        assertThat(batchSizes).allMatch(size -> size <= 4);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+    }
+
+    @Test
+    void stop_shouldHandFailedBatchToRetrySchedulerAsOneFailure() {
+        // Given - 실패 5번이면 열리는 circuit
+        properties.setQueueCapacity(10);
+        properties.setBatchSize(10);
+        properties.setWriterThreads(1);
+        ApiLogRetryScheduler retryScheduler = new ApiLogRetryScheduler(apiLogService, new ApiLogProperties.Retry(), null);
+        doThrow(new RuntimeException("db down")).when(apiLogService).saveAll(anyCollection());
+        ApiLogWriteBehindQueue queue = new ApiLogWriteBehindQueue(apiLogService, properties, retryScheduler);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(event());
+        }
+
+        // When
+        queue.start();
+        queue.stop();
+
+        // Then
+        assertThat(retryScheduler.size()).isEqualTo(5);
+        assertThat(retryScheduler.isCircuitOpen()).isFalse();
+    }
+
+    private ApiCallInitiatedEvent event() {
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        return new ApiCallInitiatedEvent(this, request);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.devs.lab.test.repository;
 
 import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiLogCursor;
+import com.devs.lab.test.model.dto.ApiLogSummary;
+import com.devs.lab.test.model.dto.EndpointCount;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.devs.lab.test.Constants.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -228,6 +232,111 @@ class ApiLogRepositoryTest {
                 .containsExactlyInAnyOrder(INITIATED, SUCCESS);
     }
 
+    @Test
+    void findSummariesByEventType_shouldPageByTimestampAndId() throws Exception {
+        // Given - 같은 시각의 행이 페이지 경계에 걸친다
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        JsonNode payload = objectMapper.readTree("{\"test\":\"data\"}");
+        for (int i = 0; i < 5; i++) {
+            repository.save(ApiLogEntity.builder()
+                    .eventType(SUCCESS)
+                    .requestId("request-" + i)
+                    .endpoint("/api/test")
+                    .payload(payload)
+                    .timestamp(base.plusSeconds(i / 2))
+                    .retryCount(0)
+                    .isRetry(false)
+                    .build());
+        }
+        repository.save(ApiLogEntity.builder()
+                .eventType(ERROR)
+                .requestId("request-error")
+                .endpoint("/api/test")
+                .timestamp(base)
+                .retryCount(0)
+                .isRetry(false)
+                .build());
+
+        // When
+        List<ApiLogSummary> first = repository.findSummariesByEventType(SUCCESS, ApiLogCursor.FIRST, 3);
+        List<ApiLogSummary> second = repository.findSummariesByEventType(SUCCESS, ApiLogCursor.after(first), 3);
+        List<ApiLogSummary> last = repository.findSummariesByEventType(SUCCESS, ApiLogCursor.after(second), 3);
+
+        // Then
+        assertThat(first).extracting(ApiLogSummary::requestId)
+                .containsExactly("request-0", "request-1", "request-2");
+        assertThat(second).extracting(ApiLogSummary::requestId).containsExactly("request-3", "request-4");
+        assertThat(last).isEmpty();
+        assertThat(ApiLogCursor.after(last)).isNull();
+    }
+
+    @Test
+    void streamSummariesByEndpoint_shouldReturnRowsInRangeWithoutBodies() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        JsonNode payload = objectMapper.readTree("{\"test\":\"data\"}");
+        for (int i = 0; i < 4; i++) {
+            repository.save(ApiLogEntity.builder()
+                    .eventType(SUCCESS)
+                    .requestId("request-" + i)
+                    .endpoint("/api/users")
+                    .payload(payload)
+                    .statusCode(200)
+                    .timestamp(base.plusMinutes(i))
+                    .retryCount(0)
+                    .isRetry(false)
+                    .durationMicros(1_000L * i)
+                    .build());
+        }
+
+        // When - [1분, 3분) 구간
+        List<ApiLogSummary> found;
+        try (Stream<ApiLogSummary> stream = repository.streamSummariesByEndpoint("/api/users",
+                base.plusMinutes(1), base.plusMinutes(3))) {
+            found = stream.toList();
+        }
+
+        // Then
+        assertThat(found).extracting(ApiLogSummary::requestId).containsExactly("request-1", "request-2");
+        assertThat(found.get(1).statusCode()).isEqualTo(200);
+        assertThat(found.get(1).durationMicros()).isEqualTo(2_000L);
+    }
+
+    @Test
+    void errorQueries_shouldCountAndPageErrorsOnly() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        repository.save(log(ERROR, "/api/orders", base));
+        repository.save(log(RETRY_ERROR, "/api/orders", base.plusMinutes(1)));
+        repository.save(log(ERROR, "/api/users", base.plusMinutes(2)));
+        repository.save(log(SUCCESS, "/api/users", base.plusMinutes(3)));
+        repository.save(log(ERROR, "/api/users", base.plusHours(2)));
+
+        // When
+        List<EndpointCount> counts = repository.countErrorsByEndpoint(base, base.plusHours(1));
+        List<ApiLogSummary> first = repository.findErrorSummaries(ApiLogCursor.FIRST, 2);
+        List<ApiLogSummary> second = repository.findErrorSummaries(ApiLogCursor.after(first), 2);
+
+        // Then
+        assertThat(counts).containsExactly(new EndpointCount("/api/orders", 2), new EndpointCount("/api/users", 1));
+        assertThat(first).extracting(ApiLogSummary::eventType).containsExactly(ERROR, RETRY_ERROR);
+        assertThat(second).extracting(ApiLogSummary::timestamp)
+                .containsExactly(base.plusMinutes(2), base.plusHours(2));
+        assertThat(repository.countByEndpoint("/api/users", base, base.plusHours(1))).isEqualTo(2);
+        assertThat(repository.countBetween(base, base.plusHours(1))).isEqualTo(4);
+    }
+
+    private static ApiLogEntity log(String eventType, String endpoint, LocalDateTime timestamp) {
+        return ApiLogEntity.builder()
+                .eventType(eventType)
+                .requestId("request-" + timestamp)
+                .endpoint(endpoint)
+                .timestamp(timestamp)
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+    }
+
     @Test
     void save_shouldHandleJsonbFields() throws Exception {
         // Given - JSONB 필드들이 제대로 저장되는지 테스트
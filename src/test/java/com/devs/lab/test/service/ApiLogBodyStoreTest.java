@@ -0,0 +1,235 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogBody;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.util.RequestIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLogBodyStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private ApiLogProperties.BodyStorage properties;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionManager = new DataSourceTransactionManager(database);
+        // INSERT ... ON CONFLICT DO NOTHING
+        jdbcTemplate.execute("SET MODE PostgreSQL");
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log_body_dictionary (
+                    id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    dictionary VARBINARY NOT NULL,
+                    created_at TIMESTAMP NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log_body (
+                    id            UUID      NOT NULL,
+                    timestamp     TIMESTAMP NOT NULL,
+                    dictionary_id INT,
+                    payload       VARBINARY,
+                    response      VARBINARY,
+                    PRIMARY KEY (id, timestamp)
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log_content (
+                    hash          VARBINARY PRIMARY KEY,
+                    dictionary_id INT,
+                    content       VARBINARY NOT NULL,
+                    created_at    TIMESTAMP NOT NULL,
+                    last_seen_at  TIMESTAMP NOT NULL
+                )
+                """);
+        properties = new ApiLogProperties.BodyStorage();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void isCold_shouldCompareCombinedSizeWithThreshold() {
+        // Given
+        properties.setThreshold(DataSize.ofBytes(10));
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+
+        // When & Then
+        assertThat(store.isCold("12345", "1234")).isFalse();
+        assertThat(store.isCold("12345", "12345")).isTrue();
+        assertThat(store.isCold(null, null)).isFalse();
+    }
+
+    @Test
+    void write_shouldCompressBodiesAndLoadThemLazily() {
+        // Given
+        properties.setDictionary(false);
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        String payload = body(0).repeat(20);
+        ApiLogEntity written = entity(new ApiLogBody(payload, null));
+
+        // When
+        store.write(List.of(written));
+
+        // Then - 저장된 값은 원문보다 작고, 조회한 행은 getColdBody 를 부를 때 읽어 푼다
+        Integer stored = jdbcTemplate.queryForObject("SELECT OCTET_LENGTH(payload) FROM api_log_body", Integer.class);
+        assertThat(stored).isLessThan(payload.length() / 4);
+        ApiLogEntity loaded = ApiLogEntity.builder()
+                .bodyId(written.getBodyId())
+                .timestamp(written.getTimestamp())
+                .coldBodyLoader(store)
+                .build();
+        assertThat(loaded.getColdBody()).isEqualTo(new ApiLogBody(payload, null));
+    }
+
+    @Test
+    void write_shouldTrainDictionaryFromTrafficAndKeepOlderBodiesReadable() {
+        // Given - 학습 표본 16KB 가 차면 사전을 학습한다
+        properties.setTrainingSampleSize(DataSize.ofKilobytes(16));
+        properties.setDictionarySize(DataSize.ofKilobytes(4));
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        List<ApiLogEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            entities.add(entity(new ApiLogBody(body(i), body(i + 1))));
+        }
+
+        // When
+        for (ApiLogEntity entity : entities) {
+            store.write(List.of(entity));
+        }
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_body_dictionary", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM api_log_body WHERE dictionary_id IS NOT NULL", Integer.class)).isPositive();
+        ApiLogBodyStore restarted = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        assertThat(restarted.load(entities.get(0))).isEqualTo(new ApiLogBody(body(0), body(1)));
+        assertThat(restarted.load(entities.get(199))).isEqualTo(new ApiLogBody(body(199), body(200)));
+    }
+
+    @Test
+    void write_shouldStoreRepeatedBodiesOnceAndSkipRecentlySeenHashes() {
+        // Given
+        properties.setDictionary(false);
+        properties.getDedup().setEnabled(true);
+        properties.getDedup().setMinSize(DataSize.ofBytes(16));
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        String response = body(1);
+
+        // When - 같은 응답을 배치 안에서, 그리고 배치를 넘어 반복해서 쓴다
+        store.write(List.of(contentEntity(store, body(2), response), contentEntity(store, body(3), response)));
+        store.write(List.of(contentEntity(store, body(2), response)));
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_content", Integer.class)).isEqualTo(3);
+        ApiLogEntity loaded = ApiLogEntity.builder()
+                .responseHash(store.contentHash(response))
+                .coldBodyLoader(store)
+                .build();
+        assertThat(loaded.getColdBody()).isEqualTo(new ApiLogBody(null, response));
+
+        // 캐시에 있는 해시는 DB 를 다시 보지 않으므로, 행이 없어져도 다시 넣지 않는다
+        jdbcTemplate.update("DELETE FROM api_log_content");
+        store.write(List.of(contentEntity(store, body(2), response)));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_content", Integer.class)).isZero();
+        assertThat(store.contentHash("{\"short\":1}")).isNull();
+    }
+
+    @Test
+    void write_shouldNotCacheHashesOfRolledBackContent() {
+        // Given
+        properties.setDictionary(false);
+        properties.getDedup().setEnabled(true);
+        properties.getDedup().setMinSize(DataSize.ofBytes(16));
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When - 로그 행 저장이 실패해 본문 insert 도 롤백된다
+        transaction.executeWithoutResult(status -> {
+            store.write(List.of(contentEntity(store, body(1), null)));
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> store.write(List.of(contentEntity(store, body(1), null))));
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_content", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void write_shouldKeepTrainedDictionaryWhenItsBatchRollsBack() {
+        // Given - 사전 학습을 일으킨 batch 가 롤백된다
+        properties.setTrainingSampleSize(DataSize.ofKilobytes(16));
+        properties.setDictionarySize(DataSize.ofKilobytes(4));
+        ApiLogBodyStore store = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ApiLogEntity> rolledBack = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rolledBack.add(entity(new ApiLogBody(body(i), body(i + 1))));
+        }
+        transaction.executeWithoutResult(status -> {
+            rolledBack.forEach(entity -> store.write(List.of(entity)));
+            status.setRollbackOnly();
+        });
+
+        // When - 이후 본문은 캐시된 사전으로 압축된다
+        ApiLogEntity later = entity(new ApiLogBody(body(300), body(301)));
+        transaction.executeWithoutResult(status -> store.write(List.of(later)));
+
+        // Then - 사전 행이 남아 있어 새 인스턴스도 풀 수 있다
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_body_dictionary", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM api_log_body WHERE dictionary_id IS NOT NULL", Integer.class)).isEqualTo(1);
+        ApiLogBodyStore restarted = new ApiLogBodyStore(jdbcTemplate, transactionManager, properties);
+        assertThat(restarted.load(later)).isEqualTo(new ApiLogBody(body(300), body(301)));
+    }
+
+    private static ApiLogEntity contentEntity(ApiLogBodyStore store, String payload, String response) {
+        return ApiLogEntity.builder()
+                .payloadHash(store.contentHash(payload))
+                .responseHash(store.contentHash(response))
+                .timestamp(LocalDateTime.now())
+                .coldBody(new ApiLogBody(payload, response))
+                .build();
+    }
+
+    private static ApiLogEntity entity(ApiLogBody body) {
+        return ApiLogEntity.builder()
+                .bodyId(RequestIds.nextUuid())
+                .timestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                .coldBody(body)
+                .build();
+    }
+
+    private static String body(int index) {
+        return "{\"orderId\":" + index + ",\"customer\":{\"id\":" + (index * 31 % 97) + ",\"tier\":\"gold\"},"
+                + "\"items\":[{\"sku\":\"SKU-" + index + "\",\"quantity\":" + (index % 5 + 1) + ",\"price\":1999}],"
+                + "\"status\":\"" + (index % 2 == 0 ? "CREATED" : "PAID") + "\"}";
+    }
+}
\ No newline at end of file
@@ -1,22 +1,36 @@
 package com.devs.lab.test.service;
 
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
 import com.devs.lab.test.event.ApiCallErrorEvent;
 import com.devs.lab.test.event.ApiCallInitiatedEvent;
 import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.model.ApiLogBody;
 import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.ApiCallTiming;
 import com.devs.lab.test.model.dto.ApiRequest;
 import com.devs.lab.test.model.dto.ApiResponse;
 import com.devs.lab.test.repository.ApiLogRepository;
+import com.devs.lab.test.stats.ApiLogStatsAggregator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 import static com.devs.lab.test.Constants.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +46,7 @@ class ApiLogServiceTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper(); // 실제 ObjectMapper 사용
-        apiLogService = new ApiLogService(repository, objectMapper);
+        apiLogService = service(new ApiLogProperties());
         entityCaptor = ArgumentCaptor.forClass(ApiLogEntity.class);
     }
 
@@ -57,7 +71,9 @@ class ApiLogServiceTest {
         assertThat(saved.getEndpoint()).isEqualTo("/api/test");
         assertThat(saved.getRetryCount()).isEqualTo(0);
         assertThat(saved.getIsRetry()).isFalse();
-        assertThat(saved.getTimestamp()).isNotNull();
+        // 변환 시점이 아니라 이벤트가 만들어진 시각을 쓴다
+        assertThat(saved.getTimestamp())
+                .isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), ZoneId.systemDefault()));
     }
 
     @Test
@@ -89,6 +105,37 @@ class ApiLogServiceTest {
         assertThat(saved.getTimestamp()).isNotNull();
     }
 
+    @Test
+    void saveApiCallSuccess_shouldMapCallTiming() {
+        // Given
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{}")
+                .statusCode(200)
+                .build();
+        long startedAt = System.currentTimeMillis();
+        ApiCallTiming timing = ApiCallTiming.builder()
+                .startedAt(startedAt)
+                .firstByteMicros(1_500L)
+                .durationMicros(2_750L)
+                .build();
+
+        // When
+        apiLogService.saveApiCallSuccess(new ApiCallSuccessEvent(this, request, response, timing));
+
+        // Then
+        verify(repository).save(entityCaptor.capture());
+        ApiLogEntity saved = entityCaptor.getValue();
+
+        LocalDateTime expectedStart = LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAt), ZoneId.systemDefault());
+        assertThat(saved.getStartedAt()).isEqualTo(expectedStart);
+        assertThat(saved.getEndedAt()).isEqualTo(expectedStart.plusNanos(2_750_000));
+        assertThat(saved.getFirstByteMicros()).isEqualTo(1_500L);
+        assertThat(saved.getDurationMicros()).isEqualTo(2_750L);
+    }
+
     @Test
     void saveApiCallError_shouldSaveEntityWithErrorData() {
         // Given
@@ -177,4 +224,280 @@ class ApiLogServiceTest {
         assertThat(saved.getPayload()).isNotNull(); // Should create fallback node with raw field
         assertThat(saved.getPayload().has("raw")).isTrue(); // Should have raw field for invalid JSON
     }
+
+    @Test
+    void singleRecord_shouldNotSaveInitiatedEvent() {
+        // Given
+        ApiLogService singleRecordService = singleRecordService();
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+
+        // When
+        singleRecordService.saveApiCallInitiated(new ApiCallInitiatedEvent(this, request));
+
+        // Then
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void singleRecord_shouldMergeRetryHistoryIntoFinalRow() {
+        // Given
+        ApiLogService singleRecordService = singleRecordService();
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{\"result\":\"success\"}")
+                .statusCode(200)
+                .build();
+
+        // When
+        singleRecordService.saveAll(List.of(
+                new ApiCallInitiatedEvent(this, request),
+                new ApiCallErrorEvent(this, request, new RuntimeException("timeout 1"), 1, true),
+                new ApiCallErrorEvent(this, request, new RuntimeException("timeout 2"), 2, true),
+                new ApiCallSuccessEvent(this, request, response)));
+
+        // Then - 요청당 한 행만 저장되고, 재시도 이력이 함께 들어간다
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApiLogEntity>> listCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(listCaptor.capture());
+        assertThat(listCaptor.getValue()).hasSize(1);
+        ApiLogEntity saved = listCaptor.getValue().get(0);
+
+        assertThat(saved.getEventType()).isEqualTo(SUCCESS);
+        assertThat(saved.getRequestId()).isEqualTo(request.getRequestId());
+        assertThat(saved.getPayload().get("test").asText()).isEqualTo("data");
+        assertThat(saved.getResponse().get("result").asText()).isEqualTo("success");
+        assertThat(saved.getRetryCount()).isEqualTo(2);
+        assertThat(saved.getRetryHistory()).hasSize(2);
+        assertThat(saved.getRetryHistory().get(1).get("error").asText()).isEqualTo("timeout 2");
+    }
+
+    @Test
+    void singleRecord_shouldKeepRetryHistoryUntilFinalRowCommits() {
+        // Given - 최종 행 저장이 한 번 실패
+        ApiLogService singleRecordService = singleRecordService();
+        ApiRequest request = ApiRequest.builder().endpoint("/api/test").build();
+        ApiResponse response = ApiResponse.builder().data("{}").statusCode(200).build();
+        ApiCallSuccessEvent success = new ApiCallSuccessEvent(this, request, response);
+        singleRecordService.saveAll(List.of(new ApiCallErrorEvent(this, request, new RuntimeException("timeout"), 1, true)));
+        when(repository.saveAll(anyList())).thenThrow(new RuntimeException("db down")).thenReturn(List.of());
+
+        // When - 롤백된 트랜잭션에서 실패한 뒤 재시도
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThatThrownBy(() -> singleRecordService.saveAll(List.of(success))).hasMessage("db down");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        singleRecordService.saveAll(List.of(success));
+
+        // Then - 재시도한 행에도 이력이 들어가고, 저장된 뒤에는 버퍼에서 지워진다
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApiLogEntity>> listCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).saveAll(listCaptor.capture());
+        assertThat(listCaptor.getAllValues().get(1).get(0).getRetryHistory()).hasSize(1);
+        assertThat(singleRecordService.toEntity(success).getRetryHistory()).isNull();
+    }
+
+    @Test
+    void singleRecord_shouldNotDuplicateRetryHistoryWhenBatchIsRetried() {
+        // Given - RETRY_ERROR 가 든 batch 가 롤백된 뒤 재시도되고, 나눠진 batch 로 한 번 더 저장된다
+        ApiLogService singleRecordService = singleRecordService();
+        ApiRequest request = ApiRequest.builder().endpoint("/api/test").build();
+        ApiCallErrorEvent second = new ApiCallErrorEvent(this, request, new RuntimeException("timeout 2"), 2, true);
+        ApiCallErrorEvent first = new ApiCallErrorEvent(this, request, new RuntimeException("timeout 1"), 1, true);
+        ApiCallSuccessEvent success = new ApiCallSuccessEvent(this, request,
+                ApiResponse.builder().data("{}").statusCode(200).build());
+
+        // When
+        singleRecordService.saveAll(List.of(second));
+        singleRecordService.saveAll(List.of(second, first));
+        singleRecordService.saveAll(List.of(first));
+
+        // Then - 재시도마다 한 번씩, retryCount 순으로만 남는다
+        ApiLogEntity entity = singleRecordService.toEntity(success);
+        assertThat(entity.getRetryHistory()).hasSize(2);
+        assertThat(entity.getRetryHistory().get(0).get("retryCount").asInt()).isEqualTo(1);
+        assertThat(entity.getRetryHistory().get(1).get("retryCount").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void capturePolicy_shouldDropSuccessBodiesButKeepMetadata() {
+        // Given
+        ApiLogProperties properties = new ApiLogProperties();
+        ApiLogProperties.Capture.Rule rule = new ApiLogProperties.Capture.Rule();
+        rule.setStatuses(List.of("2xx"));
+        rule.setPayload(false);
+        rule.setResponse(false);
+        properties.getCapture().getRules().add(rule);
+        ApiLogService captureService = service(properties);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("https://upstream.example.com/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{\"result\":\"success\"}")
+                .statusCode(200)
+                .build();
+
+        // When
+        captureService.saveApiCallSuccess(new ApiCallSuccessEvent(this, request, response));
+
+        // Then
+        verify(repository).save(entityCaptor.capture());
+        ApiLogEntity saved = entityCaptor.getValue();
+        assertThat(saved.getEventType()).isEqualTo(SUCCESS);
+        assertThat(saved.getRequestId()).isEqualTo(request.getRequestId());
+        assertThat(saved.getStatusCode()).isEqualTo(200);
+        assertThat(saved.getPayload()).isNull();
+        assertThat(saved.getResponse()).isNull();
+    }
+
+    @Test
+    void capturePolicy_shouldTruncateHeadAndTail() {
+        // Given
+        ApiLogProperties properties = new ApiLogProperties();
+        ApiLogProperties.Capture.Rule rule = new ApiLogProperties.Capture.Rule();
+        rule.setEndpoint("/api/**");
+        rule.setMaxBytes(10);
+        rule.setTruncation(ApiLogProperties.Capture.Truncation.HEAD_TAIL);
+        properties.getCapture().getRules().add(rule);
+        ApiLogService captureService = service(properties);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("abcdefghijklmnopqrstuvwxyz")
+                .build();
+
+        // When
+        captureService.saveApiCallInitiated(new ApiCallInitiatedEvent(this, request));
+
+        // Then
+        verify(repository).save(entityCaptor.capture());
+        assertThat(entityCaptor.getValue().getPayload().get("raw").asText())
+                .isEqualTo("abcde...[truncated 16 bytes]...vwxyz");
+    }
+
+    @Test
+    void passThroughJson_shouldKeepValidJsonTextWithoutParsing() throws Exception {
+        // Given
+        ApiLogProperties properties = new ApiLogProperties();
+        properties.setJsonMode(ApiLogProperties.JsonMode.PASS_THROUGH);
+        ApiLogService passThroughService = service(properties);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\": [1, 2, {\"nested\": true}]}")
+                .build();
+        ApiRequest invalid = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\": ")
+                .build();
+
+        // When
+        passThroughService.saveApiCallInitiated(new ApiCallInitiatedEvent(this, request));
+        passThroughService.saveApiCallInitiated(new ApiCallInitiatedEvent(this, invalid));
+
+        // Then
+        verify(repository, times(2)).save(entityCaptor.capture());
+        ApiLogEntity saved = entityCaptor.getAllValues().get(0);
+        assertThat(saved.getPayload().isPojo()).isTrue();
+        assertThat(objectMapper.writeValueAsString(saved.getPayload())).isEqualTo(request.getPayload());
+        assertThat(entityCaptor.getAllValues().get(1).getPayload().get("raw").asText()).isEqualTo("{\"test\": ");
+    }
+
+    @Test
+    void bodyStorage_shouldMoveLargeBodiesOutOfJsonbColumns() {
+        // Given
+        ApiLogBodyStore bodyStore = mock(ApiLogBodyStore.class);
+        when(bodyStore.isCold(any(), any())).thenReturn(true);
+        ApiLogService coldService = new ApiLogService(repository, objectMapper, new ApiLogProperties(), null, null,
+                bodyStore, null);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{\"result\":\"success\"}")
+                .statusCode(200)
+                .build();
+
+        // When
+        coldService.saveApiCallSuccess(new ApiCallSuccessEvent(this, request, response));
+
+        // Then - 본문 행을 먼저 쓰고, 로그 행에는 본문 id 만 남긴다
+        InOrder inOrder = inOrder(bodyStore, repository);
+        inOrder.verify(bodyStore).write(any());
+        inOrder.verify(repository).save(entityCaptor.capture());
+        ApiLogEntity saved = entityCaptor.getValue();
+        assertThat(saved.getBodyId()).isNotNull();
+        assertThat(saved.getPayload()).isNull();
+        assertThat(saved.getResponse()).isNull();
+        assertThat(saved.getColdBody()).isEqualTo(new ApiLogBody(request.getPayload(), response.getData()));
+    }
+
+    @Test
+    void bodyStorage_shouldReferenceDeduplicatedBodiesByHash() {
+        // Given - 응답만 dedup 대상
+        ApiLogBodyStore bodyStore = mock(ApiLogBodyStore.class);
+        byte[] responseHash = {1, 2, 3};
+        when(bodyStore.contentHash(any())).thenAnswer(invocation ->
+                "{\"result\":\"success\"}".equals(invocation.getArgument(0)) ? responseHash : null);
+        ApiLogService dedupService = new ApiLogService(repository, objectMapper, new ApiLogProperties(), null, null,
+                bodyStore, null);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+        ApiResponse response = ApiResponse.builder()
+                .data("{\"result\":\"success\"}")
+                .statusCode(200)
+                .build();
+
+        // When
+        dedupService.saveApiCallSuccess(new ApiCallSuccessEvent(this, request, response));
+
+        // Then - 요청 본문은 JSONB 로 남고 응답은 해시로만 참조한다
+        verify(repository).save(entityCaptor.capture());
+        ApiLogEntity saved = entityCaptor.getValue();
+        assertThat(saved.getPayload().get("test").asText()).isEqualTo("data");
+        assertThat(saved.getPayloadHash()).isNull();
+        assertThat(saved.getResponse()).isNull();
+        assertThat(saved.getResponseHash()).isEqualTo(responseHash);
+        assertThat(saved.getBodyId()).isNull();
+        assertThat(saved.getColdBody()).isEqualTo(new ApiLogBody(null, response.getData()));
+        verify(bodyStore).write(List.of(saved));
+    }
+
+    @Test
+    void stats_shouldRecordSavedEntities() {
+        // Given
+        ApiLogStatsAggregator stats = mock(ApiLogStatsAggregator.class);
+        ApiLogService statsService = new ApiLogService(repository, objectMapper, new ApiLogProperties(), null, null,
+                null, stats);
+        ApiRequest request = ApiRequest.builder()
+                .endpoint("/api/test")
+                .payload("{\"test\":\"data\"}")
+                .build();
+
+        // When - 트랜잭션 밖이라 바로 집계된다
+        statsService.saveApiCallInitiated(new ApiCallInitiatedEvent(this, request));
+
+        // Then
+        verify(repository).save(entityCaptor.capture());
+        verify(stats).record(List.of(entityCaptor.getValue()));
+    }
+
+    private ApiLogService singleRecordService() {
+        ApiLogProperties properties = new ApiLogProperties();
+        properties.setStorageMode(ApiLogProperties.StorageMode.SINGLE_RECORD);
+        return service(properties);
+    }
+
+    private ApiLogService service(ApiLogProperties properties) {
+        return new ApiLogService(repository, objectMapper, properties, null, null, null, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.devs.lab.test.Constants.ERROR;
+import static com.devs.lab.test.Constants.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcBatchApiLogWriterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log (
+                    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    event_type    VARCHAR(50)  NOT NULL,
+                    request_id    VARCHAR(36)  NOT NULL,
+                    endpoint      VARCHAR(255) NOT NULL,
+                    payload       JSON,
+                    response      JSON,
+                    status_code   INT,
+                    error_message JSON,
+                    timestamp     TIMESTAMP    NOT NULL,
+                    retry_count   INT     DEFAULT 0,
+                    is_retry      BOOLEAN DEFAULT FALSE,
+                    retry_history JSON,
+                    started_at TIMESTAMP,
+                    ended_at TIMESTAMP,
+                    first_byte_micros BIGINT,
+                    duration_micros BIGINT,
+                    body_id UUID,
+                    payload_hash VARBINARY,
+                    response_hash VARBINARY
+                )
+                """);
+        objectMapper = new ObjectMapper();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void write_shouldInsertAllRowsAcrossMultipleStatements() throws Exception {
+        // Given - 3행씩 INSERT 하므로 7행은 3 + 3 + 1 로 나뉜다
+        JdbcBatchApiLogWriter writer = new JdbcBatchApiLogWriter(jdbcTemplate, objectMapper, 3);
+        List<ApiLogEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            entities.add(ApiLogEntity.builder()
+                    .eventType(SUCCESS)
+                    .requestId("request-" + i)
+                    .endpoint("/api/test")
+                    .payload(objectMapper.readTree("{\"index\":" + i + "}"))
+                    .response(objectMapper.readTree("{\"result\":\"success\"}"))
+                    .statusCode(200)
+                    .timestamp(LocalDateTime.now())
+                    .retryCount(0)
+                    .isRetry(false)
+                    .build());
+        }
+
+        // When
+        writer.write(entities);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log", Integer.class)).isEqualTo(7);
+        String payload = jdbcTemplate.queryForObject(
+                "SELECT CAST(payload AS VARCHAR) FROM api_log WHERE request_id = 'request-6'", String.class);
+        assertThat(objectMapper.readTree(payload).get("index").asInt()).isEqualTo(6);
+    }
+
+    @Test
+    void write_shouldStoreNullColumnsAsNull() throws Exception {
+        // Given
+        JdbcBatchApiLogWriter writer = new JdbcBatchApiLogWriter(jdbcTemplate, objectMapper, 10);
+        ApiLogEntity entity = ApiLogEntity.builder()
+                .eventType(ERROR)
+                .requestId("request-error")
+                .endpoint("/api/test")
+                .errorMessage(objectMapper.readTree("{\"raw\":\"boom\"}"))
+                .timestamp(LocalDateTime.now())
+                .retryCount(2)
+                .isRetry(true)
+                .build();
+
+        // When
+        writer.write(List.of(entity));
+
+        // Then
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT response, status_code, retry_count, is_retry FROM api_log WHERE request_id = 'request-error'");
+        assertThat(row.get("RESPONSE")).isNull();
+        assertThat(row.get("STATUS_CODE")).isNull();
+        assertThat(row.get("RETRY_COUNT")).isEqualTo(2);
+        assertThat(row.get("IS_RETRY")).isEqualTo(true);
+    }
+}
\ No newline at end of file
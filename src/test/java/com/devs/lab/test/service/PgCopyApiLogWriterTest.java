@@ -0,0 +1,130 @@
+package com.devs.lab.test.service;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.repository.ApiLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.devs.lab.test.Constants.ERROR;
+import static com.devs.lab.test.Constants.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PgCopyApiLogWriterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApiLogRepository repository;
+
+    private ObjectMapper objectMapper;
+    private ApiLogWriter fallback;
+    private PgCopyApiLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        fallback = mock(ApiLogWriter.class);
+        writer = new PgCopyApiLogWriter(dataSource, objectMapper, fallback);
+    }
+
+    @Test
+    void write_shouldCopyRowsWithJsonbColumns() throws Exception {
+        // Given - CSV 이스케이프가 필요한 따옴표, 쉼표, 줄바꿈, 한글을 포함
+        ApiLogEntity success = ApiLogEntity.builder()
+                .eventType(SUCCESS)
+                .requestId("copy-request-1")
+                .endpoint("/api/users")
+                .payload(objectMapper.readTree("{\"name\":\"강신\",\"note\":\"a \\\"quoted\\\", value\\nnext\"}"))
+                .response(objectMapper.readTree("{\"id\":1}"))
+                .statusCode(201)
+                .timestamp(LocalDateTime.now())
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+        ApiLogEntity error = ApiLogEntity.builder()
+                .eventType(ERROR)
+                .requestId("copy-request-2")
+                .endpoint("/api/users")
+                .errorMessage(objectMapper.readTree("{\"raw\":\"timeout\"}"))
+                .timestamp(LocalDateTime.now())
+                .retryCount(1)
+                .isRetry(true)
+                .build();
+
+        // When
+        writer.write(List.of(success, error));
+
+        // Then
+        List<ApiLogEntity> copied = repository.findByEndpoint("/api/users");
+        assertThat(copied).hasSize(2);
+
+        ApiLogEntity savedSuccess = repository.findByRequestId("copy-request-1").get(0);
+        assertThat(savedSuccess.getPayload()).isEqualTo(success.getPayload());
+        assertThat(savedSuccess.getStatusCode()).isEqualTo(201);
+        assertThat(savedSuccess.getIsRetry()).isFalse();
+
+        ApiLogEntity savedError = repository.findByRequestId("copy-request-2").get(0);
+        assertThat(savedError.getResponse()).isNull();
+        assertThat(savedError.getStatusCode()).isNull();
+        assertThat(savedError.getRetryCount()).isEqualTo(1);
+        assertThat(savedError.getIsRetry()).isTrue();
+
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void write_shouldUseIdentityDefaultForIds() throws Exception {
+        // Given
+        ApiLogEntity entity = ApiLogEntity.builder()
+                .eventType(SUCCESS)
+                .requestId("copy-request-3")
+                .endpoint("/api/orders")
+                .payload(objectMapper.readTree("{}"))
+                .timestamp(LocalDateTime.now())
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+
+        // When
+        writer.write(List.of(entity));
+
+        // Then
+        Long id = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT id FROM api_log WHERE request_id = 'copy-request-3'", Long.class);
+        assertThat(id).isNotNull();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.devs.lab.test.spool;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.service.ApiLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ApiLogSpoolReplayerTest {
+
+    @Mock
+    private ApiLogService apiLogService;
+
+    @TempDir
+    Path directory;
+
+    private ApiLogProperties.Spool properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiLogProperties.Spool();
+        properties.setReplayBatchSize(10);
+        properties.setReplayMaxFailures(2);
+    }
+
+    @Test
+    void replay_shouldQuarantineRecordTheDatabaseRejects() throws Exception {
+        // Given - req-2 가 들어간 저장은 항상 제약 조건 위반
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        spool.append(entity("req-1"));
+        spool.append(entity("req-2"));
+        spool.append(entity("req-3"));
+        List<String> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<ApiLogEntity> entities = invocation.getArgument(0);
+            if (entities.stream().anyMatch(entity -> "req-2".equals(entity.getRequestId()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            entities.forEach(entity -> saved.add(entity.getRequestId()));
+            return null;
+        }).when(apiLogService).saveEntities(anyList());
+        ApiLogSpoolReplayer replayer = new ApiLogSpoolReplayer(spool, apiLogService, properties);
+
+        // When - 두 번 실패한 뒤 한 건씩 재생
+        assertThatThrownBy(replayer::replay).isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(replayer::replay).isInstanceOf(DataIntegrityViolationException.class);
+        int replayed = replayer.replay();
+
+        // Then
+        assertThat(replayed).isEqualTo(3);
+        assertThat(saved).containsExactly("req-1", "req-3");
+        assertThat(spool.hasPending()).isFalse();
+        assertThat(spool.getQuarantinedCount()).isEqualTo(1);
+        List<ApiLogEntity> quarantined = new ArrayList<>();
+        new ApiLogSpool(directory.resolve("quarantine"), 4096).replay(100, quarantined::addAll);
+        assertThat(quarantined).extracting(ApiLogEntity::getRequestId).containsExactly("req-2");
+    }
+
+    @Test
+    void replay_shouldNotQuarantineWhileDatabaseIsUnavailable() throws Exception {
+        // Given
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        spool.append(entity("req-1"));
+        doThrow(new CannotCreateTransactionException("connection refused"))
+                .when(apiLogService).saveEntities(anyList());
+        ApiLogSpoolReplayer replayer = new ApiLogSpoolReplayer(spool, apiLogService, properties);
+
+        // When - 한 건씩 재생하는 단계까지 넘어가도록 여러 번 실패
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(replayer::replay).isInstanceOf(CannotCreateTransactionException.class);
+        }
+
+        // Then
+        assertThat(spool.hasPending()).isTrue();
+        assertThat(spool.getQuarantinedCount()).isZero();
+    }
+
+    private static ApiLogEntity entity(String requestId) {
+        return ApiLogEntity.builder()
+                .eventType("ERROR")
+                .requestId(requestId)
+                .endpoint("/api/orders")
+                .timestamp(LocalDateTime.of(2026, 10, 17, 9, 30))
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.devs.lab.test.spool;
+
+import com.devs.lab.test.model.ApiLogEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiLogSpoolTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldReturnAppendedEntitiesAcrossSegments() throws Exception {
+        // Given - 작은 세그먼트로 여러 파일에 걸쳐 기록
+        ApiLogSpool spool = new ApiLogSpool(directory, 512);
+        for (int i = 0; i < 10; i++) {
+            assertThat(spool.append(entity("req-" + i))).isTrue();
+        }
+
+        // When
+        List<ApiLogEntity> replayed = new ArrayList<>();
+        int count = spool.replay(100, replayed::addAll);
+
+        // Then
+        assertThat(count).isEqualTo(10);
+        assertThat(replayed).extracting(ApiLogEntity::getRequestId)
+                .containsExactly("req-0", "req-1", "req-2", "req-3", "req-4", "req-5", "req-6", "req-7", "req-8", "req-9");
+        assertThat(replayed.getFirst().getPayload().get("value").asText()).isEqualTo("req-0");
+        assertThat(replayed.getFirst().getStatusCode()).isEqualTo(500);
+        assertThat(replayed.getFirst().getTimestamp()).isEqualTo(LocalDateTime.of(2026, 10, 17, 9, 30));
+        assertThat(replayed.getFirst().getResponse()).isNull();
+        assertThat(spool.hasPending()).isFalse();
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void replay_shouldKeepCheckpointWhenSinkFails() throws Exception {
+        // Given
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        spool.append(entity("req-1"));
+        spool.append(entity("req-2"));
+
+        // When - DB 저장 실패
+        assertThatThrownBy(() -> spool.replay(100, batch -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then - 같은 레코드를 다시 넘긴다
+        List<ApiLogEntity> replayed = new ArrayList<>();
+        assertThat(spool.replay(1, replayed::addAll)).isEqualTo(1);
+        assertThat(spool.replay(1, replayed::addAll)).isEqualTo(1);
+        assertThat(spool.replay(1, replayed::addAll)).isZero();
+        assertThat(replayed).extracting(ApiLogEntity::getRequestId).containsExactly("req-1", "req-2");
+    }
+
+    @Test
+    void reopen_shouldResumeFromCheckpoint() throws Exception {
+        // Given - 하나만 저장된 뒤 재시작
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        spool.append(entity("req-1"));
+        spool.append(entity("req-2"));
+        spool.replay(1, batch -> {
+        });
+        spool.close();
+
+        // When
+        ApiLogSpool reopened = new ApiLogSpool(directory, 4096);
+        reopened.append(entity("req-3"));
+        List<ApiLogEntity> replayed = new ArrayList<>();
+        reopened.replay(100, replayed::addAll);
+
+        // Then
+        assertThat(replayed).extracting(ApiLogEntity::getRequestId).containsExactly("req-2", "req-3");
+    }
+
+    @Test
+    void reopen_shouldDiscardTornRecordAtTail() throws Exception {
+        // Given - 마지막 레코드의 본문이 깨진 상태로 종료
+        ApiLogSpool spool = new ApiLogSpool(directory, 4096);
+        spool.append(entity("req-1"));
+        spool.append(entity("req-2"));
+        spool.close();
+        int secondRecord = SpoolSegment.HEADER_BYTES + SpoolRecordCodec.encode(entity("req-1")).length;
+        try (FileChannel channel = FileChannel.open(segmentFiles().getFirst(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f, 0x7f}), secondRecord + SpoolSegment.HEADER_BYTES + 4);
+        }
+
+        // When
+        ApiLogSpool reopened = new ApiLogSpool(directory, 4096);
+        reopened.append(entity("req-3"));
+        List<ApiLogEntity> replayed = new ArrayList<>();
+        reopened.replay(100, replayed::addAll);
+
+        // Then - 깨진 레코드 자리에 다음 레코드가 이어 쓰인다
+        assertThat(replayed).extracting(ApiLogEntity::getRequestId).containsExactly("req-1", "req-3");
+    }
+
+    private ApiLogEntity entity(String requestId) {
+        return ApiLogEntity.builder()
+                .eventType("ERROR")
+                .requestId(requestId)
+                .endpoint("/api/orders")
+                .payload(objectMapper.createObjectNode().put("value", requestId))
+                .statusCode(500)
+                .errorMessage(objectMapper.getNodeFactory().textNode("boom"))
+                .timestamp(LocalDateTime.of(2026, 10, 17, 9, 30))
+                .retryCount(0)
+                .isRetry(false)
+                .build();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.devs.lab.test.stats;
+
+import com.devs.lab.test.autoconfigure.ApiLogProperties;
+import com.devs.lab.test.model.ApiLogEntity;
+import com.devs.lab.test.model.dto.EndpointStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.devs.lab.test.Constants.ERROR;
+import static com.devs.lab.test.Constants.INITIATED;
+import static com.devs.lab.test.Constants.RETRY_ERROR;
+import static com.devs.lab.test.Constants.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ApiLogStatsAggregatorTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ApiLogStatsStore store;
+    private ApiLogProperties.Stats properties;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE api_log_stats (
+                    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    bucket   TIMESTAMP    NOT NULL,
+                    endpoint VARCHAR(255) NOT NULL,
+                    calls    BIGINT       NOT NULL,
+                    errors   BIGINT       NOT NULL,
+                    retries  BIGINT       NOT NULL,
+                    latency  VARBINARY
+                )
+                """);
+        store = new ApiLogStatsStore(jdbcTemplate);
+        properties = new ApiLogProperties.Stats();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void flush_shouldRollUpCountsAndLatencyPerEndpointTemplate() {
+        // Given - /api/users/{id} 로 묶이는 호출 100건 (1..100ms), 그중 10건 실패
+        ApiLogStatsAggregator aggregator = new ApiLogStatsAggregator(store, properties);
+        List<ApiLogEntity> entities = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            entities.add(log(i % 10 == 0 ? ERROR : SUCCESS, "/api/users/" + i, MINUTE.plusSeconds(i % 60), i * 1_000L));
+        }
+        entities.add(log(INITIATED, "/api/users/1", MINUTE, null));
+        entities.add(log(RETRY_ERROR, "/api/users/1", MINUTE, 500L));
+        entities.add(log(SUCCESS, "/api/orders", MINUTE, 7_000L));
+
+        // When
+        aggregator.record(entities);
+        aggregator.flush();
+
+        // Then
+        assertThat(aggregator.size()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_stats", Long.class)).isEqualTo(2);
+        List<EndpointStats> stats = store.summarize(MINUTE, MINUTE.plusMinutes(1));
+        assertThat(stats).extracting(EndpointStats::endpoint).containsExactly("/api/users/{id}", "/api/orders");
+        EndpointStats users = stats.get(0);
+        assertThat(users.calls()).isEqualTo(100);
+        assertThat(users.errors()).isEqualTo(10);
+        assertThat(users.retries()).isEqualTo(1);
+        assertThat(users.errorRate()).isEqualTo(0.1);
+        // 유효 숫자 2자리 -> 상대 오차 1% 이내
+        assertThat(users.p50Micros()).isCloseTo(50_000L, within(1_000L));
+        assertThat(users.p99Micros()).isCloseTo(99_000L, within(1_000L));
+        assertThat(users.maxMicros()).isCloseTo(100_000L, within(1_000L));
+    }
+
+    @Test
+    void summarize_shouldMergeRowsFromSeveralFlushes() {
+        // Given - 같은 분을 두 번 flush (인스턴스 두 개, 또는 늦게 도착한 행)
+        ApiLogStatsAggregator aggregator = new ApiLogStatsAggregator(store, properties);
+        aggregator.record(List.of(log(SUCCESS, "/api/test", MINUTE, 1_000L)));
+        aggregator.flush();
+        aggregator.record(List.of(log(ERROR, "/api/test", MINUTE.plusSeconds(30), 9_000L)));
+        aggregator.flush();
+
+        // When
+        List<EndpointStats> stats = store.summarize(MINUTE, MINUTE.plusMinutes(1));
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_log_stats", Long.class)).isEqualTo(2);
+        assertThat(stats).singleElement().satisfies(s -> {
+            assertThat(s.calls()).isEqualTo(2);
+            assertThat(s.errors()).isEqualTo(1);
+            assertThat(s.p50Micros()).isCloseTo(1_000L, within(10L));
+            assertThat(s.maxMicros()).isCloseTo(9_000L, within(90L));
+        });
+    }
+
+    @Test
+    void flush_shouldKeepOpenMinuteAndSplitSeriesBySteps() {
+        // Given - 12:00 ~ 12:09 매 분 한 건
+        ApiLogStatsAggregator aggregator = new ApiLogStatsAggregator(store, properties);
+        for (int i = 0; i < 10; i++) {
+            aggregator.record(List.of(log(SUCCESS, "/api/test", MINUTE.plusMinutes(i), 1_000L)));
+        }
+
+        // When - 12:09 는 아직 진행 중인 분
+        aggregator.flush(MINUTE.plusMinutes(9));
+        List<EndpointStats> series = store.series("/api/test", MINUTE, MINUTE.plusMinutes(10), Duration.ofMinutes(5));
+
+        // Then
+        assertThat(aggregator.size()).isEqualTo(1);
+        assertThat(series).extracting(EndpointStats::from).containsExactly(MINUTE, MINUTE.plusMinutes(5));
+        assertThat(series).extracting(EndpointStats::calls).containsExactly(5L, 4L);
+    }
+
+    @Test
+    void flush_shouldKeepBucketsWhenInsertFails() {
+        // Given
+        ApiLogStatsAggregator aggregator = new ApiLogStatsAggregator(store, properties);
+        aggregator.record(List.of(log(SUCCESS, "/api/test", MINUTE, 1_000L)));
+        jdbcTemplate.execute("ALTER TABLE api_log_stats RENAME TO api_log_stats_offline");
+
+        // When
+        aggregator.flush();
+
+        // Then - 다음 flush 에서 다시 쓴다
+        assertThat(aggregator.size()).isEqualTo(1);
+        jdbcTemplate.execute("ALTER TABLE api_log_stats_offline RENAME TO api_log_stats");
+        aggregator.flush();
+        assertThat(store.summarize(MINUTE, MINUTE.plusMinutes(1))).singleElement()
+                .extracting(EndpointStats::calls).isEqualTo(1L);
+    }
+
+    private static ApiLogEntity log(String eventType, String endpoint, LocalDateTime timestamp, Long durationMicros) {
+        return ApiLogEntity.builder()
+                .eventType(eventType)
+                .endpoint(endpoint)
+                .timestamp(timestamp)
+                .durationMicros(durationMicros)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ApiCallBulkheadTest {
+
+    @Test
+    void acquire_shouldRejectWhenEndpointLimitReached() {
+        // Given
+        ApiCallBulkhead bulkhead = new ApiCallBulkhead(0, Map.of("/slow/**", 1), Duration.ZERO);
+        ApiCallBulkhead.Permit permit = bulkhead.acquire("https://upstream.example.com/slow/items?page=1");
+
+        // When & Then
+        assertThatThrownBy(() -> bulkhead.acquire("/slow/other"))
+                .isInstanceOf(RejectedExecutionException.class);
+        bulkhead.acquire("/fast/items").close();
+
+        permit.close();
+        bulkhead.acquire("/slow/other").close();
+    }
+
+    @Test
+    void acquire_shouldApplyDefaultLimitPerHost() {
+        // Given
+        ApiCallBulkhead bulkhead = new ApiCallBulkhead(1, Map.of(), Duration.ZERO);
+        ApiCallBulkhead.Permit permit = bulkhead.acquire("https://a.example.com/items");
+
+        // When & Then
+        assertThatThrownBy(() -> bulkhead.acquire("https://a.example.com/other"))
+                .isInstanceOf(RejectedExecutionException.class);
+        bulkhead.acquire("https://b.example.com/items").close();
+        permit.close();
+    }
+
+    @Test
+    void getAsync_shouldFailFastWithoutCallingUpstreamWhenBulkheadIsFull() {
+        // Given
+        RestClient restClient = mock(RestClient.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        ApiCallBulkhead bulkhead = new ApiCallBulkhead(0, Map.of("/slow", 1), Duration.ZERO);
+        RestClientProperties properties = new RestClientProperties();
+        RestApiClientUtil client = new RestApiClientUtil(restClient, publisher, new ObjectMapper(),
+                Runnable::run, bulkhead, new ApiCallRetrier(properties.getRetry()), ApiClientMetrics.noop(), properties);
+        ApiCallBulkhead.Permit held = bulkhead.acquire("/slow");
+
+        // When
+        CompletableFuture<ApiResponse> future = client.getAsync("/slow");
+
+        // Then
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        verifyNoInteractions(restClient);
+        verify(publisher).publishEvent(any(ApiCallErrorEvent.class));
+        held.close();
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void acquireAsync_shouldWaitForFreeSlotWithoutBlockingCaller() throws Exception {
+        // Given
+        ApiCallBulkhead bulkhead = new ApiCallBulkhead(0, Map.of("/slow", 1), Duration.ofSeconds(5));
+        ApiCallBulkhead.Permit held = bulkhead.acquire("/slow");
+
+        // When
+        CompletableFuture<ApiCallBulkhead.Permit> waiting = bulkhead.acquireAsync("/slow");
+
+        // Then
+        assertThat(waiting).isNotDone();
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void acquireAsync_shouldFailWhenSlotDoesNotFreeUpWithinMaxWait() {
+        // Given
+        ApiCallBulkhead bulkhead = new ApiCallBulkhead(0, Map.of("/slow", 1), Duration.ofMillis(50));
+        ApiCallBulkhead.Permit held = bulkhead.acquire("/slow");
+
+        // When
+        CompletableFuture<ApiCallBulkhead.Permit> waiting = bulkhead.acquireAsync("/slow");
+
+        // Then
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        held.close();
+    }
+}
\ No newline at end of file
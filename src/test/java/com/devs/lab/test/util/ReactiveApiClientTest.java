@@ -0,0 +1,112 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallInitiatedEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ReactiveApiClientTest {
+
+    private HttpServer server;
+    private ApplicationEventPublisher eventPublisher;
+    private ReactiveApiClient client;
+
+    static class TestDto {
+        public String name;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/users", exchange -> {
+            byte[] body = "{\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        client = new ReactiveApiClient(HttpClient.newHttpClient(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), Duration.ofSeconds(5),
+                eventPublisher, new ObjectMapper(), new ApiCallBulkhead(0, Map.of(), Duration.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void getAsyncTyped_shouldDeserializeResponseAndPublishLifecycleEvents() throws Exception {
+        // When
+        TestDto result = client.getAsyncTyped("/users", TestDto.class).get();
+
+        // Then
+        assertThat(result.name).isEqualTo("John");
+        verify(eventPublisher).publishEvent(any(ApiCallInitiatedEvent.class));
+        verify(eventPublisher).publishEvent(any(ApiCallSuccessEvent.class));
+    }
+
+    @Test
+    void postAsync_shouldReturnRawResponse() throws Exception {
+        // When
+        ApiResponse response = client.postAsync("/users", "{\"name\":\"John\"}").get();
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getData()).isEqualTo("{\"name\":\"John\"}");
+    }
+
+    @Test
+    void getAsync_shouldFailAndPublishErrorEventOnServerError() {
+        // When & Then
+        assertThatThrownBy(() -> client.getAsync("/broken").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+        verify(eventPublisher).publishEvent(any(ApiCallErrorEvent.class));
+    }
+
+    @Test
+    void destroy_shouldCloseOwnedHttpClientOnly() throws Exception {
+        // Given
+        RestClientProperties properties = new RestClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        ReactiveApiClient owning = new ReactiveApiClient(properties, eventPublisher, new ObjectMapper(),
+                ApiCallBulkhead.unbounded());
+
+        // When
+        owning.destroy();
+        client.destroy();
+
+        // Then
+        assertThatThrownBy(() -> owning.getAsync("/users").get())
+                .isInstanceOf(ExecutionException.class);
+        assertThat(client.getAsync("/users").get().getStatusCode()).isEqualTo(200);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.devs.lab.test.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestIdsTest {
+
+    @Test
+    void next_shouldCreateVersion7UuidWithTimestampPrefix() {
+        // Given
+        long epochMillis = 1_760_000_000_000L;
+
+        // When
+        UUID id = RequestIds.next(epochMillis);
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(epochMillis);
+    }
+
+    @Test
+    void next_shouldSortByCreationTime() {
+        // When
+        String earlier = RequestIds.next(1_000L).toString();
+        String later = RequestIds.next(2_000L).toString();
+
+        // Then
+        assertThat(earlier).isLessThan(later);
+    }
+
+    @Test
+    void next_shouldNotRepeatWithinTheSameMillisecond() {
+        // Given
+        Set<UUID> ids = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(RequestIds.next(1_000L));
+        }
+
+        // Then
+        assertThat(ids).hasSize(10_000);
+        assertThat(RequestIds.next()).hasSize(36);
+    }
+}
\ No newline at end of file
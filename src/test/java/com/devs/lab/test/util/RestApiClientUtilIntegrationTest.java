@@ -1,7 +1,10 @@
 package com.devs.lab.test.util;
 
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.metrics.ApiClientMetrics;
 import com.devs.lab.test.model.dto.ApiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +17,9 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -44,6 +50,7 @@ class RestApiClientUtilIntegrationTest {
     private RestClient restClient;
 
     private RestApiClientUtil restApiClientUtil;
+    private ExecutorService executor;
 
     // 테스트용 DTO
     static class TestDto {
@@ -60,13 +67,25 @@ class RestApiClientUtilIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        RestClientProperties properties = new RestClientProperties();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
         restApiClientUtil = new RestApiClientUtil(
             restClient,
             eventPublisher,
-            objectMapper
+            objectMapper,
+            executor,
+            ApiCallBulkhead.unbounded(),
+            new ApiCallRetrier(properties.getRetry()),
+            ApiClientMetrics.noop(),
+            properties
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
     @Test
     void restApiClientUtil_shouldBeInstantiatedCorrectly() {
         // When & Then
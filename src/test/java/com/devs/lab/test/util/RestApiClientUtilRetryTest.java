@@ -0,0 +1,245 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.devs.lab.test.model.dto.ApiCallTiming;
+import com.devs.lab.test.model.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RestApiClientUtilRetryTest {
+
+    private static final Duration SLOW_RESPONSE = Duration.ofMillis(50);
+
+    private HttpServer server;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger downCalls = new AtomicInteger();
+    private RestClientProperties properties;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/flaky", exchange -> {
+            // 처음 두 번은 503, 세 번째에 성공
+            respond(exchange, flakyCalls.incrementAndGet() <= 2 ? 503 : 200, "ok");
+        });
+        server.createContext("/down", exchange -> {
+            downCalls.incrementAndGet();
+            respond(exchange, 503, "unavailable");
+        });
+        server.createContext("/missing", exchange -> {
+            downCalls.incrementAndGet();
+            respond(exchange, 404, "missing");
+        });
+        server.createContext("/slow", exchange -> {
+            sleep(SLOW_RESPONSE);
+            respond(exchange, 200, "ok");
+        });
+        server.start();
+
+        properties = new RestClientProperties();
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getRetry().setJitter(0);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void getAsync_shouldRetryAndPublishRealRetryCounts() throws Exception {
+        // Given
+        RestApiClientUtil client = client(properties);
+
+        // When
+        ApiResponse response = client.getAsync("/flaky").get();
+
+        // Then
+        assertThat(response.getData()).isEqualTo("ok");
+        assertThat(flakyCalls).hasValue(3);
+        List<ApiCallErrorEvent> errors = errorEvents();
+        assertThat(errors).extracting(ApiCallErrorEvent::getRetryCount).containsExactly(1, 2);
+        assertThat(errors).allMatch(ApiCallErrorEvent::isRetry);
+        assertThat(publishedEvents()).last().isInstanceOf(ApiCallSuccessEvent.class);
+    }
+
+    @Test
+    void getSync_shouldPublishFinalErrorWithRetryCountWhenAttemptsAreExhausted() {
+        // Given
+        RestApiClientUtil client = client(properties);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getSync("/down")).isInstanceOf(HttpServerErrorException.ServiceUnavailable.class);
+        assertThat(downCalls).hasValue(3);
+        List<ApiCallErrorEvent> errors = errorEvents();
+        assertThat(errors).extracting(ApiCallErrorEvent::getRetryCount).containsExactly(1, 2, 2);
+        assertThat(errors).extracting(ApiCallErrorEvent::isRetry).containsExactly(true, true, false);
+    }
+
+    @Test
+    void getAsyncTyped_shouldWrapFinalFailureLikeSyncTyped() {
+        // Given
+        RestApiClientUtil client = client(properties);
+
+        // When
+        CompletableFuture<String> future = client.getAsyncTyped("/missing", String.class);
+
+        // Then - 원인은 RuntimeException 안에 감싸져 있다
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    void getSync_shouldNotRetryClientErrors() {
+        // Given
+        RestApiClientUtil client = client(properties);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getSync("/missing")).isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThat(downCalls).hasValue(1);
+    }
+
+    @Test
+    void getSync_shouldStopRetryingWhenBudgetIsSpent() {
+        // Given - 초당 재시도 1회만 허용
+        properties.getRetry().setBudgetRatio(0);
+        properties.getRetry().setMinRetriesPerSecond(1);
+        RestApiClientUtil client = client(properties);
+
+        // When
+        assertThatThrownBy(() -> client.getSync("/down")).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> client.getSync("/down")).isInstanceOf(HttpServerErrorException.class);
+
+        // Then - 첫 호출은 한 번 재시도, 두 번째 호출은 재시도 없이 실패
+        assertThat(downCalls).hasValue(3);
+    }
+
+    @Test
+    void getSync_shouldApplyEndpointPolicy() {
+        // Given - /down 은 재시도하지 않음
+        RestClientProperties.Policy noRetry = new RestClientProperties.Policy();
+        properties.getRetry().getEndpoints().put("/down", noRetry);
+        RestApiClientUtil client = client(properties);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getSync("/down")).isInstanceOf(HttpServerErrorException.class);
+        assertThat(downCalls).hasValue(1);
+    }
+
+    @Test
+    void getSync_shouldRecordTimeToFirstByteAndDuration() {
+        // Given
+        RestApiClientUtil client = client(properties);
+
+        // When
+        client.getSync("/slow");
+
+        // Then
+        ApiCallTiming timing = successEvent().getTiming();
+        assertThat(timing).isNotNull();
+        assertThat(timing.getFirstByteMicros()).isGreaterThanOrEqualTo(SLOW_RESPONSE.toNanos() / 1_000);
+        assertThat(timing.getDurationMicros()).isGreaterThanOrEqualTo(timing.getFirstByteMicros());
+    }
+
+    @Test
+    void getAsync_shouldMeasureDurationFromCallStartAcrossRetries() throws Exception {
+        // Given - 10ms, 20ms 백오프 뒤 세 번째 시도에 성공
+        RestApiClientUtil client = client(properties);
+
+        // When
+        client.getAsync("/flaky").get();
+
+        // Then
+        List<ApiCallErrorEvent> errors = errorEvents();
+        ApiCallTiming timing = successEvent().getTiming();
+        assertThat(timing.getStartedAt()).isEqualTo(errors.get(0).getTiming().getStartedAt());
+        assertThat(timing.getFirstByteMicros()).isNotNull();
+        assertThat(timing.getDurationMicros())
+                .isGreaterThanOrEqualTo(30_000)
+                .isGreaterThan(errors.get(1).getTiming().getDurationMicros());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private RestApiClientUtil client(RestClientProperties properties) {
+        return new RestApiClientUtil(
+                RestClient.builder()
+                        .requestFactory(new SimpleClientHttpRequestFactory())
+                        .requestInterceptor(new ResponseTimingInterceptor())
+                        .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                        .build(),
+                eventPublisher, new ObjectMapper(), Executors.newVirtualThreadPerTaskExecutor(),
+                ApiCallBulkhead.unbounded(), new ApiCallRetrier(properties.getRetry()), ApiClientMetrics.noop(),
+                properties);
+    }
+
+    private List<ApplicationEvent> publishedEvents() {
+        ArgumentCaptor<ApplicationEvent> captor = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private ApiCallSuccessEvent successEvent() {
+        return publishedEvents().stream()
+                .filter(ApiCallSuccessEvent.class::isInstance)
+                .map(ApiCallSuccessEvent.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<ApiCallErrorEvent> errorEvents() {
+        return publishedEvents().stream()
+                .filter(ApiCallErrorEvent.class::isInstance)
+                .map(ApiCallErrorEvent.class::cast)
+                .toList();
+    }
+}
\ No newline at end of file
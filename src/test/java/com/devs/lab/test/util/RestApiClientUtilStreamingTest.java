@@ -0,0 +1,122 @@
+package com.devs.lab.test.util;
+
+import com.devs.lab.test.config.RestClientProperties;
+import com.devs.lab.test.event.ApiCallErrorEvent;
+import com.devs.lab.test.event.ApiCallSuccessEvent;
+import com.devs.lab.test.metrics.ApiClientMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RestApiClientUtilStreamingTest {
+
+    private HttpServer server;
+    private ApplicationEventPublisher eventPublisher;
+    private RestApiClientUtil restApiClientUtil;
+
+    static class ItemsDto {
+        public List<String> items;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/items", exchange -> {
+            String json = "{\"items\":[\"" + "x".repeat(1000) + "\",\"y\"]}";
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        RestClientProperties properties = new RestClientProperties();
+        properties.getStreaming().setEnabled(true);
+        properties.getStreaming().setMaxCaptureBytes(64);
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        restApiClientUtil = new RestApiClientUtil(
+                RestClient.builder().baseUrl("http://127.0.0.1:" + server.getAddress().getPort()).build(),
+                eventPublisher, new ObjectMapper(), Runnable::run, ApiCallBulkhead.unbounded(),
+                new ApiCallRetrier(properties.getRetry()), ApiClientMetrics.noop(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void getSyncTyped_shouldDeserializeFromStreamAndLogTruncatedCapture() {
+        // When
+        ItemsDto result = restApiClientUtil.getSyncTyped("/items", ItemsDto.class);
+
+        // Then
+        assertThat(result.items).hasSize(2).endsWith("y");
+        ArgumentCaptor<ApplicationEvent> captor = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        ApiCallSuccessEvent success = (ApiCallSuccessEvent) captor.getAllValues().get(1);
+        assertThat(success.getResponse().getData()).hasSize(64).startsWith("{\"items\":[\"xxx");
+        assertThat(success.getResponse().getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void getSyncTyped_shouldThrowClientErrorInStreamingMode() {
+        // When & Then
+        assertThatThrownBy(() -> restApiClientUtil.getSyncTyped("/missing", ItemsDto.class))
+                .hasCauseInstanceOf(HttpClientErrorException.NotFound.class);
+        verify(eventPublisher).publishEvent(any(ApiCallErrorEvent.class));
+    }
+
+    @Test
+    void capturingInputStream_shouldKeepOnlyLeadingBytes() throws Exception {
+        // Given
+        byte[] data = "0123456789".getBytes(StandardCharsets.UTF_8);
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream(data), 4);
+
+        // When
+        byte[] read = in.readAllBytes();
+
+        // Then
+        assertThat(read).isEqualTo(data);
+        assertThat(in.captured()).isEqualTo("0123");
+        assertThat(in.isTruncated()).isTrue();
+    }
+
+    @Test
+    void capturingInputStream_shouldNotSplitMultiByteCharacterAtLimit() throws Exception {
+        // Given - "가" 는 3바이트, 5바이트에서 두 번째 글자가 잘린다
+        byte[] data = "가나다".getBytes(StandardCharsets.UTF_8);
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream(data), 5);
+
+        // When
+        in.readAllBytes();
+
+        // Then
+        assertThat(in.captured()).isEqualTo("가");
+    }
+}
\ No newline at end of file